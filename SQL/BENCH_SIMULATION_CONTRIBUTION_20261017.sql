@@ -0,0 +1,310 @@
+-- Benchmark: simulation position contribution query
+-- legacy  : correlated `DATE(candle_time) <= ? ORDER BY candle_time DESC LIMIT 1` per position (x2)
+-- as-of   : set-based MAX(candle_time) per held asset + PK lookups (PlatformQueryRepository)
+-- Dataset : 5,000 assets x 3 years of weekday 1d candles (~3.9M rows), 1 user with 60 positions
+-- Usage   : mysql -u root -p < BENCH_SIMULATION_CONTRIBUTION_20261017.sql
+--           scratch schema `playasset_bench` only. never run against playasset_core.
+-- Status  : not yet executed. no EXPLAIN ANALYZE output or avg_ms figures have been recorded,
+--           so the expected plan (range scan on the candle unique key per held asset) is unverified.
+--           paste both EXPLAIN ANALYZE outputs and the bench_results rows below once it has been run.
+
+CREATE DATABASE IF NOT EXISTS playasset_bench DEFAULT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
+USE playasset_bench;
+
+DROP TABLE IF EXISTS market_price_candles;
+DROP TABLE IF EXISTS portfolio_positions;
+DROP TABLE IF EXISTS portfolio_accounts;
+DROP TABLE IF EXISTS portfolios;
+DROP TABLE IF EXISTS assets;
+DROP TABLE IF EXISTS users;
+DROP TABLE IF EXISTS bench_days;
+DROP TABLE IF EXISTS bench_results;
+
+CREATE TABLE users (
+  user_id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+  email VARCHAR(255) NOT NULL,
+  display_name VARCHAR(80) NOT NULL,
+  PRIMARY KEY (user_id)
+);
+
+CREATE TABLE assets (
+  asset_id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+  symbol VARCHAR(32) NOT NULL,
+  name VARCHAR(120) NOT NULL,
+  market VARCHAR(32) NOT NULL,
+  PRIMARY KEY (asset_id),
+  UNIQUE KEY uq_assets_symbol_market (symbol, market)
+);
+
+CREATE TABLE portfolios (
+  portfolio_id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+  user_id BIGINT UNSIGNED NOT NULL,
+  name VARCHAR(80) NOT NULL,
+  PRIMARY KEY (portfolio_id),
+  KEY idx_portfolios_user_id (user_id)
+);
+
+CREATE TABLE portfolio_accounts (
+  account_id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+  portfolio_id BIGINT UNSIGNED NOT NULL,
+  broker_name VARCHAR(80) NOT NULL,
+  account_label VARCHAR(80) NOT NULL,
+  PRIMARY KEY (account_id),
+  KEY idx_portfolio_accounts_portfolio_id (portfolio_id)
+);
+
+CREATE TABLE portfolio_positions (
+  position_id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+  account_id BIGINT UNSIGNED NOT NULL,
+  asset_id BIGINT UNSIGNED NOT NULL,
+  quantity DECIMAL(20,6) NOT NULL DEFAULT 0,
+  avg_cost DECIMAL(20,6) NOT NULL DEFAULT 0,
+  PRIMARY KEY (position_id),
+  UNIQUE KEY uq_portfolio_positions_account_asset (account_id, asset_id),
+  KEY idx_portfolio_positions_asset_id (asset_id)
+);
+
+CREATE TABLE market_price_candles (
+  candle_id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+  asset_id BIGINT UNSIGNED NOT NULL,
+  interval_code ENUM('1m', '5m', '15m', '1h', '1d') NOT NULL,
+  candle_time DATETIME NOT NULL,
+  open_price DECIMAL(20,6) NOT NULL,
+  high_price DECIMAL(20,6) NOT NULL,
+  low_price DECIMAL(20,6) NOT NULL,
+  close_price DECIMAL(20,6) NOT NULL,
+  volume DECIMAL(20,6) NOT NULL DEFAULT 0,
+  PRIMARY KEY (candle_id),
+  UNIQUE KEY uq_market_price_candles_asset_interval_time (asset_id, interval_code, candle_time),
+  KEY idx_market_price_candles_candle_time (candle_time)
+);
+
+CREATE TABLE bench_days (
+  day DATE NOT NULL,
+  PRIMARY KEY (day)
+);
+
+CREATE TABLE bench_results (
+  query_name VARCHAR(32) NOT NULL,
+  iterations INT NOT NULL,
+  total_ms DECIMAL(12,3) NOT NULL,
+  avg_ms DECIMAL(12,3) NOT NULL
+);
+
+-- 1) Seed
+SET SESSION cte_max_recursion_depth = 10000;
+
+INSERT INTO bench_days (day)
+WITH RECURSIVE seq(n) AS (
+  SELECT 0
+  UNION ALL
+  SELECT n + 1 FROM seq WHERE n < 1095
+)
+SELECT DATE_ADD('2023-10-01', INTERVAL n DAY) FROM seq;
+
+INSERT INTO assets (symbol, name, market)
+WITH RECURSIVE seq(n) AS (
+  SELECT 1
+  UNION ALL
+  SELECT n + 1 FROM seq WHERE n < 5000
+)
+SELECT CONCAT('BN', LPAD(n, 5, '0')), CONCAT('Bench Asset ', n), 'BENCH' FROM seq;
+
+INSERT INTO market_price_candles
+(asset_id, interval_code, candle_time, open_price, high_price, low_price, close_price, volume)
+SELECT
+  a.asset_id,
+  '1d',
+  TIMESTAMP(d.day, '15:30:00'),
+  px.close_price,
+  px.close_price * 1.01,
+  px.close_price * 0.99,
+  px.close_price,
+  1000
+FROM assets a
+CROSS JOIN bench_days d
+CROSS JOIN LATERAL (
+  SELECT 10000 + MOD(a.asset_id * 37 + DATEDIFF(d.day, '2023-10-01') * 13, 5000) AS close_price
+) px
+WHERE WEEKDAY(d.day) < 5;
+
+INSERT INTO users (email, display_name) VALUES ('bench@playasset.local', 'bench');
+SET @bench_user_id = LAST_INSERT_ID();
+
+INSERT INTO portfolios (user_id, name) VALUES (@bench_user_id, 'bench');
+SET @bench_portfolio_id = LAST_INSERT_ID();
+
+INSERT INTO portfolio_accounts (portfolio_id, broker_name, account_label)
+VALUES (@bench_portfolio_id, 'bench', 'A'), (@bench_portfolio_id, 'bench', 'B');
+
+INSERT INTO portfolio_positions (account_id, asset_id, quantity, avg_cost)
+SELECT pa.account_id, a.asset_id, 10 + MOD(a.asset_id, 90), 12000
+FROM portfolio_accounts pa
+JOIN assets a ON MOD(a.asset_id, 167) = IF(pa.account_label = 'A', 3, 71)
+WHERE pa.portfolio_id = @bench_portfolio_id;
+
+ANALYZE TABLE market_price_candles, portfolio_positions, assets;
+
+SET @bench_start = DATE('2025-01-15');
+SET @bench_end = DATE('2026-09-30');
+
+-- 2) Plans
+EXPLAIN ANALYZE
+SELECT
+  a.asset_id,
+  p.quantity,
+  COALESCE((
+    SELECT c1.close_price
+    FROM market_price_candles c1
+    WHERE c1.asset_id = p.asset_id
+      AND c1.interval_code = '1d'
+      AND DATE(c1.candle_time) <= @bench_start
+    ORDER BY c1.candle_time DESC
+    LIMIT 1
+  ), p.avg_cost) AS start_price,
+  COALESCE((
+    SELECT c2.close_price
+    FROM market_price_candles c2
+    WHERE c2.asset_id = p.asset_id
+      AND c2.interval_code = '1d'
+      AND DATE(c2.candle_time) <= @bench_end
+    ORDER BY c2.candle_time DESC
+    LIMIT 1
+  ), p.avg_cost) AS end_price
+FROM portfolios pf
+JOIN portfolio_accounts pa ON pa.portfolio_id = pf.portfolio_id
+JOIN portfolio_positions p ON p.account_id = pa.account_id
+JOIN assets a ON a.asset_id = p.asset_id
+WHERE pf.user_id = @bench_user_id
+  AND p.quantity > 0
+ORDER BY p.quantity DESC;
+
+EXPLAIN ANALYZE
+WITH held AS (
+  SELECT p.asset_id, p.quantity, p.avg_cost
+  FROM portfolios pf
+  JOIN portfolio_accounts pa ON pa.portfolio_id = pf.portfolio_id
+  JOIN portfolio_positions p ON p.account_id = pa.account_id
+  WHERE pf.user_id = @bench_user_id
+    AND p.quantity > 0
+),
+start_at AS (
+  SELECT c.asset_id, MAX(c.candle_time) AS candle_time
+  FROM market_price_candles c
+  WHERE c.asset_id IN (SELECT asset_id FROM held)
+    AND c.interval_code = '1d'
+    AND c.candle_time < @bench_start + INTERVAL 1 DAY
+  GROUP BY c.asset_id
+),
+end_at AS (
+  SELECT c.asset_id, MAX(c.candle_time) AS candle_time
+  FROM market_price_candles c
+  WHERE c.asset_id IN (SELECT asset_id FROM held)
+    AND c.interval_code = '1d'
+    AND c.candle_time < @bench_end + INTERVAL 1 DAY
+  GROUP BY c.asset_id
+)
+SELECT
+  a.asset_id,
+  h.quantity,
+  COALESCE(cs.close_price, h.avg_cost) AS start_price,
+  COALESCE(ce.close_price, h.avg_cost) AS end_price
+FROM held h
+JOIN assets a ON a.asset_id = h.asset_id
+LEFT JOIN start_at sa ON sa.asset_id = h.asset_id
+LEFT JOIN market_price_candles cs
+  ON cs.asset_id = sa.asset_id AND cs.interval_code = '1d' AND cs.candle_time = sa.candle_time
+LEFT JOIN end_at ea ON ea.asset_id = h.asset_id
+LEFT JOIN market_price_candles ce
+  ON ce.asset_id = ea.asset_id AND ce.interval_code = '1d' AND ce.candle_time = ea.candle_time
+ORDER BY h.quantity DESC;
+
+-- 3) Timed loop (warm buffer pool)
+DROP PROCEDURE IF EXISTS bench_contribution;
+DELIMITER $$
+CREATE PROCEDURE bench_contribution(IN iterations INT)
+BEGIN
+  DECLARE i INT DEFAULT 0;
+  DECLARE started DATETIME(6);
+
+  SET i = 0;
+  SET started = NOW(6);
+  WHILE i < iterations DO
+    SELECT SUM(t.start_price + t.end_price) INTO @bench_sink
+    FROM (
+      SELECT
+        COALESCE((
+          SELECT c1.close_price FROM market_price_candles c1
+          WHERE c1.asset_id = p.asset_id AND c1.interval_code = '1d' AND DATE(c1.candle_time) <= @bench_start
+          ORDER BY c1.candle_time DESC LIMIT 1
+        ), p.avg_cost) AS start_price,
+        COALESCE((
+          SELECT c2.close_price FROM market_price_candles c2
+          WHERE c2.asset_id = p.asset_id AND c2.interval_code = '1d' AND DATE(c2.candle_time) <= @bench_end
+          ORDER BY c2.candle_time DESC LIMIT 1
+        ), p.avg_cost) AS end_price
+      FROM portfolios pf
+      JOIN portfolio_accounts pa ON pa.portfolio_id = pf.portfolio_id
+      JOIN portfolio_positions p ON p.account_id = pa.account_id
+      WHERE pf.user_id = @bench_user_id AND p.quantity > 0
+    ) t;
+    SET i = i + 1;
+  END WHILE;
+  INSERT INTO bench_results
+  VALUES ('legacy', iterations,
+          TIMESTAMPDIFF(MICROSECOND, started, NOW(6)) / 1000,
+          TIMESTAMPDIFF(MICROSECOND, started, NOW(6)) / 1000 / iterations);
+
+  SET i = 0;
+  SET started = NOW(6);
+  WHILE i < iterations DO
+    SELECT SUM(COALESCE(cs.close_price, h.avg_cost) + COALESCE(ce.close_price, h.avg_cost)) INTO @bench_sink
+    FROM (
+      SELECT p.asset_id, p.quantity, p.avg_cost
+      FROM portfolios pf
+      JOIN portfolio_accounts pa ON pa.portfolio_id = pf.portfolio_id
+      JOIN portfolio_positions p ON p.account_id = pa.account_id
+      WHERE pf.user_id = @bench_user_id AND p.quantity > 0
+    ) h
+    LEFT JOIN (
+      SELECT c.asset_id, MAX(c.candle_time) AS candle_time
+      FROM market_price_candles c
+      WHERE c.asset_id IN (
+              SELECT p.asset_id FROM portfolios pf
+              JOIN portfolio_accounts pa ON pa.portfolio_id = pf.portfolio_id
+              JOIN portfolio_positions p ON p.account_id = pa.account_id
+              WHERE pf.user_id = @bench_user_id AND p.quantity > 0)
+        AND c.interval_code = '1d'
+        AND c.candle_time < @bench_start + INTERVAL 1 DAY
+      GROUP BY c.asset_id
+    ) sa ON sa.asset_id = h.asset_id
+    LEFT JOIN market_price_candles cs
+      ON cs.asset_id = sa.asset_id AND cs.interval_code = '1d' AND cs.candle_time = sa.candle_time
+    LEFT JOIN (
+      SELECT c.asset_id, MAX(c.candle_time) AS candle_time
+      FROM market_price_candles c
+      WHERE c.asset_id IN (
+              SELECT p.asset_id FROM portfolios pf
+              JOIN portfolio_accounts pa ON pa.portfolio_id = pf.portfolio_id
+              JOIN portfolio_positions p ON p.account_id = pa.account_id
+              WHERE pf.user_id = @bench_user_id AND p.quantity > 0)
+        AND c.interval_code = '1d'
+        AND c.candle_time < @bench_end + INTERVAL 1 DAY
+      GROUP BY c.asset_id
+    ) ea ON ea.asset_id = h.asset_id
+    LEFT JOIN market_price_candles ce
+      ON ce.asset_id = ea.asset_id AND ce.interval_code = '1d' AND ce.candle_time = ea.candle_time;
+    SET i = i + 1;
+  END WHILE;
+  INSERT INTO bench_results
+  VALUES ('as_of', iterations,
+          TIMESTAMPDIFF(MICROSECOND, started, NOW(6)) / 1000,
+          TIMESTAMPDIFF(MICROSECOND, started, NOW(6)) / 1000 / iterations);
+END$$
+DELIMITER ;
+
+CALL bench_contribution(3);
+TRUNCATE TABLE bench_results;
+CALL bench_contribution(50);
+
+SELECT query_name, iterations, total_ms, avg_ms FROM bench_results ORDER BY avg_ms;
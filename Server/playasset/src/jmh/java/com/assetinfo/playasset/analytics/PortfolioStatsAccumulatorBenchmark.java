@@ -0,0 +1,85 @@
+package com.assetinfo.playasset.analytics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PortfolioStatsAccumulatorBenchmark {
+
+    @Param({"180", "730"})
+    public int days;
+
+    private List<BigDecimal> dailyValues;
+    private final PortfolioStatsAccumulator stats = new PortfolioStatsAccumulator();
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        dailyValues = new ArrayList<>(days);
+        double value = 40_000_000;
+        for (int i = 0; i < days; i++) {
+            value *= 1 + (random.nextDouble() - 0.48) * 0.03;
+            dailyValues.add(BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Benchmark
+    public void boxedStreams(Blackhole blackhole) {
+        List<Double> dailyReturns = new ArrayList<>();
+        for (int i = 1; i < dailyValues.size(); i++) {
+            double prev = dailyValues.get(i - 1).doubleValue();
+            double current = dailyValues.get(i).doubleValue();
+            if (prev > 0) {
+                dailyReturns.add((current - prev) / prev);
+            }
+        }
+        double mean = dailyReturns.stream().mapToDouble(v -> v).average().orElse(0.0);
+        double variance = dailyReturns.stream()
+                .mapToDouble(v -> Math.pow(v - mean, 2))
+                .sum() / (dailyReturns.size() - 1);
+
+        double peak = Double.MIN_VALUE;
+        double maxDrawdown = 0.0;
+        for (BigDecimal point : dailyValues) {
+            double value = point.doubleValue();
+            if (value <= 0) {
+                continue;
+            }
+            peak = Math.max(peak, value);
+            double drawdown = (peak - value) / peak;
+            if (drawdown > maxDrawdown) {
+                maxDrawdown = drawdown;
+            }
+        }
+        blackhole.consume(mean);
+        blackhole.consume(Math.sqrt(variance));
+        blackhole.consume(maxDrawdown);
+    }
+
+    @Benchmark
+    public void accumulator(Blackhole blackhole) {
+        stats.reset();
+        for (BigDecimal point : dailyValues) {
+            stats.acceptValue(point.doubleValue());
+        }
+        blackhole.consume(stats.mean());
+        blackhole.consume(stats.sampleStandardDeviation());
+        blackhole.consume(stats.maxDrawdown());
+    }
+}
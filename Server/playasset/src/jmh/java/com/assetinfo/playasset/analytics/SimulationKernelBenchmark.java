@@ -0,0 +1,105 @@
+package com.assetinfo.playasset.analytics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SimulationKernelBenchmark {
+
+    @Param({"120", "730"})
+    public int days;
+
+    private List<LegacyPoint> legacyValues;
+    private SimulationSeries series;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate start = LocalDate.of(2022, 1, 1);
+        legacyValues = new ArrayList<>(days);
+        series = new SimulationSeries(days);
+        double value = 40_000_000;
+        for (int i = 0; i < days; i++) {
+            value *= 1 + (random.nextDouble() - 0.48) * 0.03;
+            BigDecimal scaled = BigDecimal.valueOf(value).setScale(6, RoundingMode.HALF_UP);
+            legacyValues.add(new LegacyPoint(start.plusDays(i), scaled));
+            series.add(start.plusDays(i), scaled.doubleValue());
+        }
+    }
+
+    @Benchmark
+    public List<LegacyCommand> bigDecimalLoop() {
+        BigDecimal baseValue = legacyValues.get(0).simulatedValue().setScale(6, RoundingMode.HALF_UP);
+        BigDecimal peakValue = baseValue;
+        BigDecimal prevValue = null;
+        List<LegacyCommand> commands = new ArrayList<>(legacyValues.size());
+        for (LegacyPoint point : legacyValues) {
+            BigDecimal currentValue = point.simulatedValue().setScale(6, RoundingMode.HALF_UP);
+            if (currentValue.compareTo(peakValue) > 0) {
+                peakValue = currentValue;
+            }
+            BigDecimal cumulativeReturnPct = ratioPercent(baseValue, currentValue).setScale(6, RoundingMode.HALF_UP);
+            BigDecimal dailyReturnPct = prevValue == null
+                    ? BigDecimal.ZERO.setScale(6, RoundingMode.HALF_UP)
+                    : ratioPercent(prevValue, currentValue).setScale(6, RoundingMode.HALF_UP);
+            BigDecimal drawdownPct = peakValue.compareTo(BigDecimal.ZERO) == 0
+                    ? BigDecimal.ZERO.setScale(6, RoundingMode.HALF_UP)
+                    : peakValue.subtract(currentValue)
+                            .divide(peakValue, 8, RoundingMode.HALF_UP)
+                            .multiply(BigDecimal.valueOf(100))
+                            .setScale(6, RoundingMode.HALF_UP);
+            commands.add(new LegacyCommand(
+                    point.snapshotDate(),
+                    currentValue,
+                    baseValue,
+                    cumulativeReturnPct,
+                    dailyReturnPct,
+                    drawdownPct));
+            prevValue = currentValue;
+        }
+        return commands;
+    }
+
+    @Benchmark
+    public SimulationSeries kernel() {
+        SimulationKernel.compute(series, series.value(0), series.value(0), Double.NaN);
+        return series;
+    }
+
+    private static BigDecimal ratioPercent(BigDecimal base, BigDecimal current) {
+        if (base.compareTo(BigDecimal.ZERO) == 0) {
+            return BigDecimal.ZERO;
+        }
+        return current.subtract(base)
+                .divide(base, 8, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100));
+    }
+
+    private record LegacyPoint(LocalDate snapshotDate, BigDecimal simulatedValue) {
+    }
+
+    public record LegacyCommand(
+            LocalDate snapshotDate,
+            BigDecimal simulatedValue,
+            BigDecimal baseValue,
+            BigDecimal cumulativeReturnPct,
+            BigDecimal dailyReturnPct,
+            BigDecimal drawdownPct) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.assetinfo.playasset.api.v1.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ToneNormalizerBenchmark {
+
+    private final String[] texts = {
+            "현재 비중 42.0%가 목표 24.0%를 넘어서 일부 축소가 필요합니다.",
+            "분산 투자를 권장합니다. 변동성이 커질 수 있어서 주의합니다.",
+            "지금 포트폴리오는 안정적입니다",
+            "월 1회 점검으로 현재 배분을 유지합니다",
+            "ETF 편입을 고려해 보세요",
+    };
+    private final ToneNormalizer normalizer = ToneNormalizer.withDefaults();
+
+    @Benchmark
+    public void chainedReplace(Blackhole blackhole) {
+        for (String text : texts) {
+            blackhole.consume(legacyToYoTone(text));
+        }
+    }
+
+    @Benchmark
+    public void trieNormalizer(Blackhole blackhole) {
+        for (String text : texts) {
+            blackhole.consume(normalizer.normalize(text));
+        }
+    }
+
+    private static String legacyToYoTone(String text) {
+        String normalized = text.trim();
+        normalized = normalized
+                .replace("있습니다.", "있어요.")
+                .replace("없습니다.", "없어요.")
+                .replace("필요합니다.", "필요해요.")
+                .replace("권장합니다.", "권장해요.")
+                .replace("주의합니다.", "주의해요.")
+                .replace("유지합니다.", "유지해요.")
+                .replace("진행합니다.", "진행해요.")
+                .replace("가능합니다.", "가능해요.")
+                .replace("됩니다.", "돼요.")
+                .replace("입니다.", "이에요.")
+                .replace("합니다.", "해요.")
+                .replace("있습니다", "있어요")
+                .replace("없습니다", "없어요")
+                .replace("필요합니다", "필요해요")
+                .replace("권장합니다", "권장해요")
+                .replace("주의합니다", "주의해요")
+                .replace("유지합니다", "유지해요")
+                .replace("진행합니다", "진행해요")
+                .replace("가능합니다", "가능해요")
+                .replace("됩니다", "돼요")
+                .replace("입니다", "이에요")
+                .replace("합니다", "해요");
+        if (normalized.endsWith("다.")) {
+            normalized = normalized.substring(0, normalized.length() - 2) + "요.";
+        } else if (normalized.endsWith("다")) {
+            normalized = normalized.substring(0, normalized.length() - 1) + "요";
+        }
+        if (!(normalized.endsWith(".") || normalized.endsWith("!") || normalized.endsWith("?"))) {
+            if (normalized.endsWith("요")) {
+                return normalized + ".";
+            }
+            if (normalized.matches(".*[가-힣]$")) {
+                return normalized + "요.";
+            }
+        }
+        return normalized;
+    }
+}
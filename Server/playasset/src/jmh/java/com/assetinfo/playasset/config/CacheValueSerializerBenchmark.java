@@ -0,0 +1,221 @@
+package com.assetinfo.playasset.config;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.assetinfo.playasset.api.v1.dto.AdviceMetricsSnapshot;
+import com.assetinfo.playasset.api.v1.dto.AiInsightSnapshot;
+import com.assetinfo.playasset.api.v1.dto.AlertPreferenceResponse;
+import com.assetinfo.playasset.api.v1.dto.AlertResponse;
+import com.assetinfo.playasset.api.v1.dto.DashboardResponse;
+import com.assetinfo.playasset.api.v1.dto.EtfRecommendationSnapshot;
+import com.assetinfo.playasset.api.v1.dto.InvestmentProfileResponse;
+import com.assetinfo.playasset.api.v1.dto.MoverSnapshot;
+import com.assetinfo.playasset.api.v1.dto.PortfolioAdviceResponse;
+import com.assetinfo.playasset.api.v1.dto.PortfolioSimulationResponse;
+import com.assetinfo.playasset.api.v1.dto.PositionSnapshot;
+import com.assetinfo.playasset.api.v1.dto.RebalancingActionSnapshot;
+import com.assetinfo.playasset.api.v1.dto.SentimentSnapshot;
+import com.assetinfo.playasset.api.v1.dto.SimulationContributionSnapshot;
+import com.assetinfo.playasset.api.v1.dto.SimulationPointSnapshot;
+import com.assetinfo.playasset.api.v1.dto.WatchlistItemResponse;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheValueSerializerBenchmark {
+
+    @Param({
+            "dashboard",
+            "positions",
+            "watchlist",
+            "alerts",
+            "alertPreference",
+            "investmentProfile",
+            "sentiment",
+            "topMovers",
+            "portfolioAdvice",
+            "portfolioSimulation"
+    })
+    public String value;
+
+    @Param({"json", "compact"})
+    public String codec;
+
+    private RedisSerializer<Object> serializer;
+    private Object payload;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        serializer = "compact".equals(codec)
+                ? new CompactRedisSerializer(2048)
+                : new GenericJackson2JsonRedisSerializer();
+        payload = fixture(value);
+        encoded = serializer.serialize(payload);
+    }
+
+    @Benchmark
+    public byte[] serialize(WireSize wireSize) {
+        byte[] bytes = serializer.serialize(payload);
+        wireSize.bytesOnWire = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object deserialize(WireSize wireSize) {
+        wireSize.bytesOnWire = encoded.length;
+        return serializer.deserialize(encoded);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+
+        public long bytesOnWire;
+    }
+
+    private static Object fixture(String name) {
+        return switch (name) {
+            case "dashboard" -> new DashboardResponse(
+                    7L,
+                    money(48_250_000),
+                    money(1_250_000),
+                    pct(2.66),
+                    12,
+                    3,
+                    new SentimentSnapshot(14, 9, 4),
+                    positions(4),
+                    movers());
+            case "positions" -> positions(20);
+            case "watchlist" -> {
+                List<WatchlistItemResponse> items = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    items.add(new WatchlistItemResponse(
+                            100 + i, "SYM" + i, "관심 종목 " + i, money(52_300 + i * 10), pct(i % 7 - 3.5), "메모 " + i));
+                }
+                yield items;
+            }
+            case "alerts" -> {
+                List<AlertResponse> alerts = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    alerts.add(new AlertResponse(
+                            1_000 + i, "PRICE_MOVE", "가격 급변 알림 " + i, "보유 종목의 가격이 크게 움직였어요.",
+                            i % 3 == 0 ? "HIGH" : "MEDIUM", "SENT", "2024-05-0" + (i % 9 + 1) + "T09:00:00"));
+                }
+                yield alerts;
+            }
+            case "alertPreference" -> new AlertPreferenceResponse(7L, true, true, false);
+            case "investmentProfile" -> {
+                Map<String, Integer> answers = new LinkedHashMap<>();
+                for (int i = 1; i <= 10; i++) {
+                    answers.put("q" + i, i % 5 + 1);
+                }
+                yield new InvestmentProfileResponse(
+                        "BALANCED", "균형 성장형", "균형", "위험과 수익의 균형을 추구하는 성향이에요.",
+                        62, 3, "주식 60 / 채권 30 / 현금 10", "2024-05-01T10:00:00", answers);
+            }
+            case "sentiment" -> new SentimentSnapshot(14, 9, 4);
+            case "topMovers" -> movers();
+            case "portfolioAdvice" -> portfolioAdvice();
+            case "portfolioSimulation" -> portfolioSimulation(730);
+            default -> throw new IllegalArgumentException("Unknown fixture: " + name);
+        };
+    }
+
+    private static List<PositionSnapshot> positions(int count) {
+        List<PositionSnapshot> positions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            positions.add(new PositionSnapshot(
+                    100 + i, "SYM" + i, "보유 종목 " + i,
+                    new BigDecimal("12.500000"), money(48_000 + i * 100), money(52_300 + i * 120),
+                    money(653_750 + i * 1_500), pct(8.96 - i * 0.3)));
+        }
+        return positions;
+    }
+
+    private static List<MoverSnapshot> movers() {
+        List<MoverSnapshot> movers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            movers.add(new MoverSnapshot("MOV" + i, "급등락 종목 " + i, money(10_000 + i), money(10_800 + i), pct(8.0 - i)));
+        }
+        return movers;
+    }
+
+    private static PortfolioAdviceResponse portfolioAdvice() {
+        List<RebalancingActionSnapshot> actions = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            actions.add(new RebalancingActionSnapshot(
+                    100 + i, "SYM" + i, "보유 종목 " + i, i % 2 == 0 ? "REDUCE" : "INCREASE",
+                    pct(18.4 - i), pct(15.0), pct(3.4 - i), money(1_250_000 - i * 100_000), i + 1,
+                    "목표 비중 대비 편차가 커서 조정을 권장해요."));
+        }
+        List<EtfRecommendationSnapshot> etfs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            etfs.add(new EtfRecommendationSnapshot(
+                    200 + i, "ETF" + i, "추천 ETF " + i, "KRX", "배당 성장", "MID",
+                    pct(0.15), pct(10.0), 80 - i, "현재 포트폴리오의 분산 효과를 높여줘요."));
+        }
+        return new PortfolioAdviceResponse(
+                new AdviceMetricsSnapshot(
+                        7L, LocalDate.of(2024, 5, 1).toString(), money(48_250_000), pct(7.2), pct(16.8),
+                        pct(0.41), pct(-12.3), pct(31.0), pct(64.0), "MEDIUM"),
+                actions,
+                etfs,
+                new AiInsightSnapshot(
+                        "분산은 양호하지만 상위 종목 집중도가 높아요.",
+                        "상위 3개 종목이 전체의 55%를 차지하고 있어요.",
+                        List.of("변동성은 시장 평균 수준이에요.", "배당 자산 비중이 낮아요."),
+                        List.of("단기 급등 종목의 비중을 점검해 주세요."),
+                        "2024-05-01T10:00:00",
+                        "rule-based"));
+    }
+
+    private static PortfolioSimulationResponse portfolioSimulation(int days) {
+        List<SimulationPointSnapshot> timeline = new ArrayList<>(days);
+        LocalDate start = LocalDate.of(2022, 5, 1);
+        for (int i = 0; i < days; i++) {
+            timeline.add(new SimulationPointSnapshot(
+                    start.plusDays(i).toString(),
+                    money(40_000_000 + i * 11_000L),
+                    pct(i * 0.027),
+                    pct(-(i % 37) * 0.21)));
+        }
+        List<SimulationContributionSnapshot> contributions = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            contributions.add(new SimulationContributionSnapshot(
+                    100 + i, "SYM" + i, "보유 종목 " + i, new BigDecimal("12.500000"),
+                    money(48_000 + i * 100), money(52_300 + i * 120), money(53_750 + i * 1_500), pct(8.96 - i * 0.3)));
+        }
+        return new PortfolioSimulationResponse(
+                7L, start.toString(), start.plusDays(days - 1).toString(), days,
+                money(40_000_000), money(48_030_000), money(8_030_000), pct(20.08), pct(9.6), pct(-12.3),
+                timeline, contributions, List.of("보유 수량 기준 시뮬레이션이에요.", "수수료와 세금은 반영하지 않았어요."), "DAILY");
+    }
+
+    private static BigDecimal money(long value) {
+        return BigDecimal.valueOf(value).setScale(2);
+    }
+
+    private static BigDecimal pct(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
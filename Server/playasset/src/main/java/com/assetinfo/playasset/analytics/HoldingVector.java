@@ -0,0 +1,20 @@
+package com.assetinfo.playasset.analytics;
+
+public record HoldingVector(long[] assetIds, double[] quantities, String fingerprint) {
+
+    public int size() {
+        return assetIds.length;
+    }
+
+    public boolean isEmpty() {
+        return assetIds.length == 0;
+    }
+
+    public long assetId(int index) {
+        return assetIds[index];
+    }
+
+    public double quantity(int index) {
+        return quantities[index];
+    }
+}
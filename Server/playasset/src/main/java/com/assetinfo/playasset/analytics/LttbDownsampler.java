@@ -0,0 +1,110 @@
+package com.assetinfo.playasset.analytics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public final class LttbDownsampler<T> {
+
+    private final int startX;
+    private final int bucketWidth;
+    private final boolean passThrough;
+    private final Consumer<T> sink;
+
+    private Point<T> anchor;
+    private List<Point<T>> pending = new ArrayList<>();
+    private List<Point<T>> current = new ArrayList<>();
+    private int currentBucket = -1;
+
+    public LttbDownsampler(int startX, int endX, int maxPoints, Consumer<T> sink) {
+        int span = Math.max(1, endX - startX + 1);
+        this.startX = startX;
+        this.passThrough = maxPoints <= 2 || span <= maxPoints;
+        this.bucketWidth = passThrough ? 1 : (span + maxPoints - 3) / (maxPoints - 2);
+        this.sink = sink;
+    }
+
+    public void accept(int x, double y, T item) {
+        if (passThrough) {
+            sink.accept(item);
+            return;
+        }
+        Point<T> point = new Point<>(x, y, item);
+        if (anchor == null) {
+            anchor = point;
+            sink.accept(item);
+            return;
+        }
+        int bucket = (x - startX) / bucketWidth;
+        if (bucket != currentBucket && !current.isEmpty()) {
+            if (!pending.isEmpty()) {
+                emitFrom(pending, averageX(current), averageY(current));
+            }
+            List<Point<T>> recycled = pending;
+            pending = current;
+            current = recycled;
+            current.clear();
+        }
+        currentBucket = bucket;
+        current.add(point);
+    }
+
+    public void finish() {
+        if (passThrough || anchor == null) {
+            return;
+        }
+        List<Point<T>> tailBucket = current.isEmpty() ? pending : current;
+        if (tailBucket.isEmpty()) {
+            return;
+        }
+        Point<T> last = tailBucket.remove(tailBucket.size() - 1);
+        if (!pending.isEmpty()) {
+            if (current.isEmpty()) {
+                emitFrom(pending, last.x(), last.y());
+            } else {
+                emitFrom(pending, averageX(current), averageY(current));
+            }
+        }
+        if (!current.isEmpty()) {
+            emitFrom(current, last.x(), last.y());
+        }
+        sink.accept(last.item());
+        pending.clear();
+        current.clear();
+    }
+
+    private void emitFrom(List<Point<T>> bucket, double nextX, double nextY) {
+        Point<T> selected = bucket.get(0);
+        double maxArea = -1;
+        for (Point<T> candidate : bucket) {
+            double area = Math.abs((anchor.x() - nextX) * (candidate.y() - anchor.y())
+                    - (anchor.x() - candidate.x()) * (nextY - anchor.y()));
+            if (area > maxArea) {
+                maxArea = area;
+                selected = candidate;
+            }
+        }
+        anchor = selected;
+        sink.accept(selected.item());
+        bucket.clear();
+    }
+
+    private static double averageX(List<? extends Point<?>> bucket) {
+        double sum = 0;
+        for (Point<?> point : bucket) {
+            sum += point.x();
+        }
+        return sum / bucket.size();
+    }
+
+    private static double averageY(List<? extends Point<?>> bucket) {
+        double sum = 0;
+        for (Point<?> point : bucket) {
+            sum += point.y();
+        }
+        return sum / bucket.size();
+    }
+
+    private record Point<T>(int x, double y, T item) {
+    }
+}
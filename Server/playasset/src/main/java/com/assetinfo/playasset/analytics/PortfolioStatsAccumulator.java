@@ -0,0 +1,76 @@
+package com.assetinfo.playasset.analytics;
+
+public final class PortfolioStatsAccumulator {
+
+    private int count;
+    private double mean;
+    private double m2;
+
+    private double prevValue = Double.NaN;
+    private double peak = Double.MIN_VALUE;
+    private double maxDrawdown;
+    private int drawdownSamples;
+
+    public void acceptValue(double value) {
+        if (prevValue > 0) {
+            acceptReturn((value - prevValue) / prevValue);
+        }
+        prevValue = value;
+        trackDrawdown(value);
+    }
+
+    public void acceptReturn(double periodReturn) {
+        count++;
+        double delta = periodReturn - mean;
+        mean += delta / count;
+        m2 += delta * (periodReturn - mean);
+    }
+
+    public void reset() {
+        count = 0;
+        mean = 0;
+        m2 = 0;
+        prevValue = Double.NaN;
+        peak = Double.MIN_VALUE;
+        maxDrawdown = 0;
+        drawdownSamples = 0;
+    }
+
+    public int returnCount() {
+        return count;
+    }
+
+    public int valueCount() {
+        return drawdownSamples;
+    }
+
+    public double mean() {
+        return count == 0 ? 0 : mean;
+    }
+
+    public double sampleVariance() {
+        return count < 2 ? 0 : Math.max(m2 / (count - 1), 0);
+    }
+
+    public double sampleStandardDeviation() {
+        return Math.sqrt(sampleVariance());
+    }
+
+    public double maxDrawdown() {
+        return maxDrawdown;
+    }
+
+    private void trackDrawdown(double value) {
+        if (value <= 0) {
+            return;
+        }
+        drawdownSamples++;
+        if (value > peak) {
+            peak = value;
+        }
+        double drawdown = (peak - value) / peak;
+        if (drawdown > maxDrawdown) {
+            maxDrawdown = drawdown;
+        }
+    }
+}
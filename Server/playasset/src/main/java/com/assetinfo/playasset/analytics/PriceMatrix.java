@@ -0,0 +1,190 @@
+package com.assetinfo.playasset.analytics;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+public final class PriceMatrix {
+
+    private final int startEpochDay;
+    private final int days;
+    private final long[] keys;
+    private final int[] rows;
+    private final double[] closes;
+    private final int assetCount;
+
+    private PriceMatrix(int startEpochDay, int days, long[] keys, int[] rows, double[] closes, int assetCount) {
+        this.startEpochDay = startEpochDay;
+        this.days = days;
+        this.keys = keys;
+        this.rows = rows;
+        this.closes = closes;
+        this.assetCount = assetCount;
+    }
+
+    public static Builder builder(LocalDate startDate, LocalDate endDate, int expectedAssets) {
+        return new Builder(startDate, endDate, expectedAssets);
+    }
+
+    public LocalDate startDate() {
+        return LocalDate.ofEpochDay(startEpochDay);
+    }
+
+    public LocalDate endDate() {
+        return LocalDate.ofEpochDay(startEpochDay + days - 1L);
+    }
+
+    public int assetCount() {
+        return assetCount;
+    }
+
+    public int days() {
+        return days;
+    }
+
+    public boolean covers(LocalDate startDate, LocalDate endDate) {
+        return !startDate.isBefore(startDate()) && !endDate.isAfter(endDate());
+    }
+
+    public double close(long assetId, LocalDate date) {
+        int row = rowOf(assetId);
+        int day = (int) (date.toEpochDay() - startEpochDay);
+        if (row < 0 || day < 0 || day >= days) {
+            return Double.NaN;
+        }
+        return closes[row * days + day];
+    }
+
+    public SimulationSeries valueSeries(HoldingVector holdings, LocalDate startDate, LocalDate endDate) {
+        int from = Math.max(0, (int) (startDate.toEpochDay() - startEpochDay));
+        int to = Math.min(days - 1, (int) (endDate.toEpochDay() - startEpochDay));
+        SimulationSeries series = new SimulationSeries(to - from + 1);
+        if (to < from || holdings.isEmpty()) {
+            return series;
+        }
+
+        int[] offsets = new int[holdings.size()];
+        double[] quantities = new double[holdings.size()];
+        int held = 0;
+        for (int i = 0; i < holdings.size(); i++) {
+            int row = rowOf(holdings.assetId(i));
+            if (row >= 0) {
+                offsets[held] = row * days;
+                quantities[held] = holdings.quantity(i);
+                held++;
+            }
+        }
+        if (held == 0) {
+            return series;
+        }
+
+        for (int day = from; day <= to; day++) {
+            double value = 0;
+            boolean priced = false;
+            for (int i = 0; i < held; i++) {
+                double close = closes[offsets[i] + day];
+                if (close == close) {
+                    value += quantities[i] * close;
+                    priced = true;
+                }
+            }
+            if (priced) {
+                series.append(startEpochDay + day, value);
+            }
+        }
+        return series;
+    }
+
+    private int rowOf(long assetId) {
+        int mask = keys.length - 1;
+        int slot = Long.hashCode(assetId * 0x9E3779B97F4A7C15L) & mask;
+        while (rows[slot] != 0) {
+            if (keys[slot] == assetId) {
+                return rows[slot] - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public static final class Builder {
+
+        private final int startEpochDay;
+        private final int days;
+        private long[] keys;
+        private int[] rows;
+        private double[] closes;
+        private int assetCount;
+
+        private Builder(LocalDate startDate, LocalDate endDate, int expectedAssets) {
+            this.startEpochDay = (int) startDate.toEpochDay();
+            this.days = Math.max(1, (int) (endDate.toEpochDay() - startEpochDay) + 1);
+            int capacity = Math.max(1, expectedAssets);
+            int slots = Integer.highestOneBit(Math.max(32, capacity) * 2 - 1) << 1;
+            this.keys = new long[slots];
+            this.rows = new int[slots];
+            this.closes = new double[capacity * days];
+            Arrays.fill(closes, Double.NaN);
+        }
+
+        public Builder put(long assetId, LocalDate date, double close) {
+            int day = (int) (date.toEpochDay() - startEpochDay);
+            if (day < 0 || day >= days) {
+                return this;
+            }
+            int row = rowFor(assetId);
+            closes[row * days + day] = close;
+            return this;
+        }
+
+        public PriceMatrix build() {
+            return new PriceMatrix(
+                    startEpochDay,
+                    days,
+                    keys,
+                    rows,
+                    closes.length == assetCount * days ? closes : Arrays.copyOf(closes, assetCount * days),
+                    assetCount);
+        }
+
+        private int rowFor(long assetId) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(assetId * 0x9E3779B97F4A7C15L) & mask;
+            while (rows[slot] != 0) {
+                if (keys[slot] == assetId) {
+                    return rows[slot] - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if ((assetCount + 1) * 2 > keys.length) {
+                rehash();
+                return rowFor(assetId);
+            }
+            if ((assetCount + 1) * days > closes.length) {
+                int previous = closes.length;
+                closes = Arrays.copyOf(closes, previous * 2);
+                Arrays.fill(closes, previous, closes.length, Double.NaN);
+            }
+            keys[slot] = assetId;
+            rows[slot] = ++assetCount;
+            return assetCount - 1;
+        }
+
+        private void rehash() {
+            long[] oldKeys = keys;
+            int[] oldRows = rows;
+            keys = new long[oldKeys.length * 2];
+            rows = new int[oldRows.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldRows[i] != 0) {
+                    int slot = Long.hashCode(oldKeys[i] * 0x9E3779B97F4A7C15L) & mask;
+                    while (rows[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    rows[slot] = oldRows[i];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.assetinfo.playasset.analytics;
+
+public final class SimulationKernel {
+
+    private SimulationKernel() {
+    }
+
+    public static void compute(SimulationSeries series, double baseValue, double peakValue, double prevValue) {
+        double[] values = series.values;
+        double[] cumulative = series.cumulativeReturnPct;
+        double[] daily = series.dailyReturnPct;
+        double[] drawdown = series.drawdownPct;
+        double[] peaks = series.peakValues;
+        double peak = peakValue;
+        double prev = prevValue;
+        for (int i = 0; i < series.size; i++) {
+            double current = values[i];
+            if (current > peak) {
+                peak = current;
+            }
+            cumulative[i] = baseValue == 0 ? 0 : (current - baseValue) / baseValue * 100;
+            daily[i] = Double.isNaN(prev) || prev == 0 ? 0 : (current - prev) / prev * 100;
+            drawdown[i] = peak == 0 ? 0 : (peak - current) / peak * 100;
+            peaks[i] = peak;
+            prev = current;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.assetinfo.playasset.analytics;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public enum SimulationResolution {
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    DOWNSAMPLED;
+
+    public LocalDate bucketStart(LocalDate date) {
+        return switch (this) {
+            case DAILY, DOWNSAMPLED -> date;
+            case WEEKLY -> date.minusDays(date.getDayOfWeek().getValue() - 1L);
+            case MONTHLY -> date.withDayOfMonth(1);
+        };
+    }
+
+    public long bucketCount(LocalDate startDate, LocalDate endDate) {
+        return switch (this) {
+            case DAILY, DOWNSAMPLED -> ChronoUnit.DAYS.between(startDate, endDate) + 1;
+            case WEEKLY -> ChronoUnit.WEEKS.between(bucketStart(startDate), bucketStart(endDate)) + 1;
+            case MONTHLY -> ChronoUnit.MONTHS.between(bucketStart(startDate), bucketStart(endDate)) + 1;
+        };
+    }
+
+    public long maxPointCount(LocalDate startDate, LocalDate endDate) {
+        long buckets = bucketCount(startDate, endDate);
+        return this == WEEKLY || this == MONTHLY ? buckets + 1 : buckets;
+    }
+
+    public static SimulationResolution forMaxPoints(LocalDate startDate, LocalDate endDate, Integer maxPoints) {
+        if (maxPoints == null) {
+            return DAILY;
+        }
+        for (SimulationResolution resolution : new SimulationResolution[] {DAILY, WEEKLY, MONTHLY}) {
+            if (resolution.maxPointCount(startDate, endDate) <= maxPoints) {
+                return resolution;
+            }
+        }
+        return DOWNSAMPLED;
+    }
+}
@@ -0,0 +1,94 @@
+package com.assetinfo.playasset.analytics;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+public final class SimulationSeries {
+
+    int[] epochDays;
+    double[] values;
+    double[] cumulativeReturnPct;
+    double[] dailyReturnPct;
+    double[] drawdownPct;
+    double[] peakValues;
+    int size;
+
+    public SimulationSeries(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.epochDays = new int[capacity];
+        this.values = new double[capacity];
+        this.cumulativeReturnPct = new double[capacity];
+        this.dailyReturnPct = new double[capacity];
+        this.drawdownPct = new double[capacity];
+        this.peakValues = new double[capacity];
+    }
+
+    public void add(LocalDate date, double value) {
+        append((int) date.toEpochDay(), value);
+    }
+
+    void append(int epochDay, double value) {
+        if (size == epochDays.length) {
+            grow();
+        }
+        epochDays[size] = epochDay;
+        values[size] = value;
+        size++;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public LocalDate date(int index) {
+        return LocalDate.ofEpochDay(epochDays[index]);
+    }
+
+    public int epochDay(int index) {
+        return epochDays[index];
+    }
+
+    public double value(int index) {
+        return values[index];
+    }
+
+    public double cumulativeReturnPct(int index) {
+        return cumulativeReturnPct[index];
+    }
+
+    public double dailyReturnPct(int index) {
+        return dailyReturnPct[index];
+    }
+
+    public double drawdownPct(int index) {
+        return drawdownPct[index];
+    }
+
+    public double peakValue(int index) {
+        return peakValues[index];
+    }
+
+    public int firstIndexOnOrAfter(LocalDate date) {
+        int target = (int) date.toEpochDay();
+        int index = Arrays.binarySearch(epochDays, 0, size, target);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private void grow() {
+        int capacity = epochDays.length * 2;
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        values = Arrays.copyOf(values, capacity);
+        cumulativeReturnPct = Arrays.copyOf(cumulativeReturnPct, capacity);
+        dailyReturnPct = Arrays.copyOf(dailyReturnPct, capacity);
+        drawdownPct = Arrays.copyOf(drawdownPct, capacity);
+        peakValues = Arrays.copyOf(peakValues, capacity);
+    }
+}
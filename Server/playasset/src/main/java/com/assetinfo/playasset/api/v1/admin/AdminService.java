@@ -6,8 +6,6 @@ import java.util.Locale;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,18 +18,23 @@ import com.assetinfo.playasset.api.v1.dto.UpdatePaidServicePolicyRequest;
 import com.assetinfo.playasset.api.v1.dto.UpdateRuntimeConfigRequest;
 import com.assetinfo.playasset.api.v1.dto.UpdateUserGroupRequest;
 import com.assetinfo.playasset.api.v1.repository.AdminAuthRepository;
+import com.assetinfo.playasset.api.v1.service.PlatformCacheEvictService;
 import com.assetinfo.playasset.api.v1.service.RuntimeConfigService;
-import com.assetinfo.playasset.config.CacheNames;
 
 @Service
 public class AdminService {
 
     private final AdminAuthRepository repository;
     private final RuntimeConfigService runtimeConfigService;
+    private final PlatformCacheEvictService cacheEvictService;
 
-    public AdminService(AdminAuthRepository repository, RuntimeConfigService runtimeConfigService) {
+    public AdminService(
+            AdminAuthRepository repository,
+            RuntimeConfigService runtimeConfigService,
+            PlatformCacheEvictService cacheEvictService) {
         this.repository = repository;
         this.runtimeConfigService = runtimeConfigService;
+        this.cacheEvictService = cacheEvictService;
     }
 
     public List<PaidServicePolicyResponse> loadPolicies(LocalDate date) {
@@ -192,11 +195,6 @@ public class AdminService {
                 .toList();
     }
 
-    @Caching(evict = {
-            @CacheEvict(cacheNames = CacheNames.RUNTIME_CONFIG, key = "#groupCode.toUpperCase()"),
-            @CacheEvict(cacheNames = CacheNames.PORTFOLIO_ADVICE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.PORTFOLIO_SIMULATION, allEntries = true)
-    })
     @Transactional
     public RuntimeConfigResponse upsertRuntimeConfig(String groupCode, String configKey, UpdateRuntimeConfigRequest request) {
         String normalizedGroup = normalizeGroupCode(groupCode);
@@ -214,7 +212,7 @@ public class AdminService {
                 request.configValue().trim(),
                 request.configDesc() == null ? "" : request.configDesc().trim(),
                 request.enabled());
-        runtimeConfigService.evictGroup(normalizedGroup);
+        runtimeConfigService.refreshGroup(normalizedGroup, cacheEvictService::evictRuntimeConfigDrivenCaches);
         return loadRuntimeConfigs(normalizedGroup).stream()
                 .filter(config -> config.configKey().equals(normalizedKey))
                 .findFirst()
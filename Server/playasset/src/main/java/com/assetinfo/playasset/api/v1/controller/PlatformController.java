@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.validation.annotation.Validated;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.assetinfo.playasset.api.v1.dto.AlertPreferenceResponse;
 import com.assetinfo.playasset.api.v1.dto.AlertResponse;
@@ -86,10 +88,24 @@ public class PlatformController {
     public ApiResponse<PortfolioSimulationResponse> portfolioSimulation(
             @PathVariable long userId,
             @RequestParam(name = "startDate", required = false) String startDate,
-            @RequestParam(name = "endDate", required = false) String endDate) {
+            @RequestParam(name = "endDate", required = false) String endDate,
+            @RequestParam(name = "maxPoints", required = false) Integer maxPoints) {
         Authz.requireUserOrAdmin(userId);
         quotaService.consume(PaidServiceKeys.PORTFOLIO_SIMULATION);
-        return ApiResponse.ok(platformService.getPortfolioSimulation(userId, startDate, endDate));
+        return ApiResponse.ok(platformService.getPortfolioSimulation(userId, startDate, endDate, maxPoints));
+    }
+
+    @GetMapping(value = "/portfolio/simulation/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> portfolioSimulationStream(
+            @PathVariable long userId,
+            @RequestParam(name = "startDate", required = false) String startDate,
+            @RequestParam(name = "endDate", required = false) String endDate,
+            @RequestParam(name = "maxPoints", required = false) Integer maxPoints) {
+        Authz.requireUserOrAdmin(userId);
+        quotaService.consume(PaidServiceKeys.PORTFOLIO_SIMULATION);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(platformService.streamPortfolioSimulation(userId, startDate, endDate, maxPoints));
     }
 
     @GetMapping("/watchlist")
@@ -16,5 +16,6 @@ public record PortfolioSimulationResponse(
         BigDecimal maxDrawdownPct,
         List<SimulationPointSnapshot> timeline,
         List<SimulationContributionSnapshot> contributions,
-        List<String> notes) {
+        List<String> notes,
+        String resolution) {
 }
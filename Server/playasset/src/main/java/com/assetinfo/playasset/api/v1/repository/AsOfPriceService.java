@@ -0,0 +1,288 @@
+package com.assetinfo.playasset.api.v1.repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import com.assetinfo.playasset.api.v1.repository.LatestQuoteIndex.Quote;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class AsOfPriceService {
+
+    private static final int LOAD_BATCH_SIZE = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxAssets;
+    private final int windowDays;
+    private final long ttlMillis;
+    private final LinkedHashMap<Long, PriceSeries> seriesByAsset;
+    private final List<Quote> quotesDuringLoads = new ArrayList<>();
+    private int loadsInFlight;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public AsOfPriceService(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.price.as-of.max-assets:2000}") int maxAssets,
+            @Value("${app.price.as-of.window-days:744}") int windowDays,
+            @Value("${app.price.as-of.ttl-minutes:360}") long ttlMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxAssets = Math.max(16, maxAssets);
+        this.windowDays = Math.max(30, windowDays);
+        this.ttlMillis = Duration.ofMinutes(Math.max(1, ttlMinutes)).toMillis();
+        this.seriesByAsset = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, PriceSeries> eldest) {
+                return size() > AsOfPriceService.this.maxAssets;
+            }
+        };
+        this.hitCounter = Counter.builder("playasset.price.asof.requests")
+                .description("As-of price series lookups by residency")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("playasset.price.asof.requests")
+                .description("As-of price series lookups by residency")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("playasset.price.asof.assets", this, AsOfPriceService::size)
+                .description("Number of assets whose close series is resident in the as-of price cache")
+                .register(meterRegistry);
+    }
+
+    public OptionalDouble closeOnOrBefore(long assetId, LocalDate date) {
+        Double close = closesOnOrBefore(List.of(assetId), date).get(assetId);
+        return close == null ? OptionalDouble.empty() : OptionalDouble.of(close);
+    }
+
+    public Map<Long, Double> closesOnOrBefore(Collection<Long> assetIds, LocalDate date) {
+        int epochDay = (int) date.toEpochDay();
+        Map<Long, Double> closes = new HashMap<>();
+        List<Long> outsideWindow = new ArrayList<>();
+        seriesFor(assetIds).forEach((assetId, series) -> {
+            OptionalDouble close = series.closeOnOrBefore(epochDay);
+            if (close.isPresent()) {
+                closes.put(assetId, close.getAsDouble());
+            } else {
+                outsideWindow.add(assetId);
+            }
+        });
+        if (!outsideWindow.isEmpty()) {
+            closes.putAll(loadClosesOnOrBefore(outsideWindow, date));
+        }
+        return closes;
+    }
+
+    public synchronized void applyAll(Collection<Quote> quotes) {
+        for (Quote quote : quotes) {
+            PriceSeries series = seriesByAsset.get(quote.assetId());
+            if (series != null) {
+                seriesByAsset.put(quote.assetId(), series.with(quote));
+            }
+            if (loadsInFlight > 0) {
+                quotesDuringLoads.add(quote);
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        seriesByAsset.clear();
+    }
+
+    public synchronized int size() {
+        return seriesByAsset.size();
+    }
+
+    private Map<Long, PriceSeries> seriesFor(Collection<Long> assetIds) {
+        Map<Long, PriceSeries> resolved = new HashMap<>();
+        Set<Long> missingIds = new LinkedHashSet<>();
+        long expiredBefore = System.currentTimeMillis() - ttlMillis;
+        synchronized (this) {
+            for (Long assetId : assetIds) {
+                PriceSeries series = seriesByAsset.get(assetId);
+                if (series != null && series.loadedAtMillis >= expiredBefore) {
+                    resolved.put(assetId, series);
+                } else if (!resolved.containsKey(assetId)) {
+                    if (series != null) {
+                        seriesByAsset.remove(assetId);
+                    }
+                    missingIds.add(assetId);
+                }
+            }
+        }
+        List<Long> missing = new ArrayList<>(missingIds);
+        hitCounter.increment(resolved.size());
+        missCounter.increment(missing.size());
+        if (missing.isEmpty()) {
+            return resolved;
+        }
+        int replayFrom;
+        synchronized (this) {
+            loadsInFlight++;
+            replayFrom = quotesDuringLoads.size();
+        }
+        try {
+            for (int from = 0; from < missing.size(); from += LOAD_BATCH_SIZE) {
+                Map<Long, PriceSeries> loaded = load(missing.subList(from, Math.min(from + LOAD_BATCH_SIZE, missing.size())));
+                synchronized (this) {
+                    for (Quote quote : quotesDuringLoads.subList(replayFrom, quotesDuringLoads.size())) {
+                        loaded.computeIfPresent(quote.assetId(), (assetId, series) -> series.with(quote));
+                    }
+                    loaded.forEach((assetId, series) -> {
+                        PriceSeries resident = seriesByAsset.putIfAbsent(assetId, series);
+                        resolved.put(assetId, resident == null ? series : resident);
+                    });
+                }
+            }
+        } finally {
+            synchronized (this) {
+                if (--loadsInFlight == 0) {
+                    quotesDuringLoads.clear();
+                }
+            }
+        }
+        return resolved;
+    }
+
+    private Map<Long, PriceSeries> load(List<Long> assetIds) {
+        Map<Long, PriceSeries.Builder> builders = new HashMap<>();
+        String placeholders = String.join(",", Collections.nCopies(assetIds.size(), "?"));
+        List<Object> params = new ArrayList<>(assetIds);
+        params.add(Timestamp.valueOf(LocalDate.now().minusDays(windowDays).atStartOfDay()));
+        jdbcTemplate.query("""
+                SELECT asset_id, candle_time, close_price
+                FROM market_price_candles
+                WHERE interval_code = '1d'
+                  AND asset_id IN (%s)
+                  AND candle_time >= ?
+                ORDER BY asset_id, candle_time
+                """.formatted(placeholders), (RowCallbackHandler) rs -> builders
+                .computeIfAbsent(rs.getLong("asset_id"), key -> new PriceSeries.Builder())
+                .add((int) rs.getTimestamp("candle_time").toLocalDateTime().toLocalDate().toEpochDay(),
+                        rs.getDouble("close_price")),
+                params.toArray());
+        long loadedAtMillis = System.currentTimeMillis();
+        Map<Long, PriceSeries> loaded = new HashMap<>();
+        for (Long assetId : assetIds) {
+            PriceSeries.Builder builder = builders.get(assetId);
+            loaded.put(assetId, (builder == null ? new PriceSeries.Builder() : builder).build(loadedAtMillis));
+        }
+        return loaded;
+    }
+
+    private Map<Long, Double> loadClosesOnOrBefore(List<Long> assetIds, LocalDate date) {
+        Map<Long, Double> closes = new HashMap<>();
+        String placeholders = String.join(",", Collections.nCopies(assetIds.size(), "?"));
+        List<Object> params = new ArrayList<>(assetIds);
+        params.add(Timestamp.valueOf(date.plusDays(1).atStartOfDay()));
+        jdbcTemplate.query("""
+                SELECT mc.asset_id, mc.close_price
+                FROM (
+                    SELECT asset_id, MAX(candle_time) AS candle_time
+                    FROM market_price_candles
+                    WHERE interval_code = '1d'
+                      AND asset_id IN (%s)
+                      AND candle_time < ?
+                    GROUP BY asset_id
+                ) latest
+                JOIN market_price_candles mc
+                    ON mc.asset_id = latest.asset_id
+                   AND mc.interval_code = '1d'
+                   AND mc.candle_time = latest.candle_time
+                """.formatted(placeholders), (RowCallbackHandler) rs -> closes.put(
+                rs.getLong("asset_id"), rs.getDouble("close_price")),
+                params.toArray());
+        return closes;
+    }
+
+    static final class PriceSeries {
+
+        static final PriceSeries EMPTY = new PriceSeries(new int[0], new double[0], 0);
+
+        private final int[] epochDays;
+        private final double[] closes;
+        private final long loadedAtMillis;
+
+        private PriceSeries(int[] epochDays, double[] closes, long loadedAtMillis) {
+            this.epochDays = epochDays;
+            this.closes = closes;
+            this.loadedAtMillis = loadedAtMillis;
+        }
+
+        OptionalDouble closeOnOrBefore(int epochDay) {
+            int index = Arrays.binarySearch(epochDays, epochDay);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            return index < 0 ? OptionalDouble.empty() : OptionalDouble.of(closes[index]);
+        }
+
+        private PriceSeries with(Quote quote) {
+            return with((int) quote.candleTime().toLocalDate().toEpochDay(), quote.closePrice().doubleValue());
+        }
+
+        PriceSeries with(int epochDay, double close) {
+            int index = Arrays.binarySearch(epochDays, epochDay);
+            if (index >= 0) {
+                double[] updated = closes.clone();
+                updated[index] = close;
+                return new PriceSeries(epochDays, updated, loadedAtMillis);
+            }
+            int insertAt = -index - 1;
+            int[] days = new int[epochDays.length + 1];
+            double[] values = new double[closes.length + 1];
+            System.arraycopy(epochDays, 0, days, 0, insertAt);
+            System.arraycopy(closes, 0, values, 0, insertAt);
+            days[insertAt] = epochDay;
+            values[insertAt] = close;
+            System.arraycopy(epochDays, insertAt, days, insertAt + 1, epochDays.length - insertAt);
+            System.arraycopy(closes, insertAt, values, insertAt + 1, closes.length - insertAt);
+            return new PriceSeries(days, values, loadedAtMillis);
+        }
+
+        static final class Builder {
+
+            private int[] epochDays = new int[256];
+            private double[] closes = new double[256];
+            private int size;
+
+            void add(int epochDay, double close) {
+                if (size > 0 && epochDays[size - 1] == epochDay) {
+                    closes[size - 1] = close;
+                    return;
+                }
+                if (size == epochDays.length) {
+                    epochDays = Arrays.copyOf(epochDays, size * 2);
+                    closes = Arrays.copyOf(closes, size * 2);
+                }
+                epochDays[size] = epochDay;
+                closes[size] = close;
+                size++;
+            }
+
+            PriceSeries build(long loadedAtMillis) {
+                return new PriceSeries(Arrays.copyOf(epochDays, size), Arrays.copyOf(closes, size), loadedAtMillis);
+            }
+        }
+    }
+}
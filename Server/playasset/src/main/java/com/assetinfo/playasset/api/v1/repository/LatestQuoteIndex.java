@@ -0,0 +1,135 @@
+package com.assetinfo.playasset.api.v1.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class LatestQuoteIndex {
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile long refreshedAtMillis;
+
+    public LatestQuoteIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("playasset.quote.index.staleness", this, LatestQuoteIndex::stalenessSeconds)
+                .description("Seconds since the latest-quote index was last refreshed (-1 before warm-up)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("playasset.quote.index.size", this, LatestQuoteIndex::size)
+                .description("Number of assets held in the latest-quote index")
+                .register(meterRegistry);
+    }
+
+    public Quote get(long assetId) {
+        return snapshot.get(assetId);
+    }
+
+    public List<Quote> values() {
+        return snapshot.values();
+    }
+
+    public int size() {
+        return snapshot.size;
+    }
+
+    public boolean isWarm() {
+        return refreshedAtMillis > 0;
+    }
+
+    public synchronized void replaceAll(Collection<Quote> quotes) {
+        snapshot = Snapshot.of(quotes);
+        refreshedAtMillis = System.currentTimeMillis();
+    }
+
+    public synchronized void applyAll(Collection<Quote> quotes) {
+        if (quotes.isEmpty()) {
+            refreshedAtMillis = System.currentTimeMillis();
+            return;
+        }
+        List<Quote> merged = new ArrayList<>(snapshot.size + quotes.size());
+        merged.addAll(snapshot.values());
+        merged.addAll(quotes);
+        snapshot = Snapshot.of(merged);
+        refreshedAtMillis = System.currentTimeMillis();
+    }
+
+    private double stalenessSeconds() {
+        long refreshedAt = refreshedAtMillis;
+        if (refreshedAt <= 0) {
+            return -1;
+        }
+        return (System.currentTimeMillis() - refreshedAt) / 1000.0;
+    }
+
+    public record Quote(
+            long assetId,
+            LocalDateTime candleTime,
+            BigDecimal openPrice,
+            BigDecimal closePrice,
+            BigDecimal volume) {
+    }
+
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(new long[1], new Quote[1], 0);
+
+        private final long[] keys;
+        private final Quote[] slots;
+        private final int size;
+
+        private Snapshot(long[] keys, Quote[] slots, int size) {
+            this.keys = keys;
+            this.slots = slots;
+            this.size = size;
+        }
+
+        private static Snapshot of(Collection<Quote> quotes) {
+            int capacity = Integer.highestOneBit(Math.max(2, quotes.size() * 2 - 1)) << 1;
+            long[] keys = new long[capacity];
+            Quote[] slots = new Quote[capacity];
+            int size = 0;
+            for (Quote quote : quotes) {
+                int slot = indexOf(keys, slots, quote.assetId());
+                Quote existing = slots[slot];
+                if (existing == null) {
+                    keys[slot] = quote.assetId();
+                    slots[slot] = quote;
+                    size++;
+                } else if (!quote.candleTime().isBefore(existing.candleTime())) {
+                    slots[slot] = quote;
+                }
+            }
+            return new Snapshot(keys, slots, size);
+        }
+
+        private Quote get(long assetId) {
+            return slots[indexOf(keys, slots, assetId)];
+        }
+
+        private List<Quote> values() {
+            List<Quote> values = new ArrayList<>(size);
+            for (Quote quote : slots) {
+                if (quote != null) {
+                    values.add(quote);
+                }
+            }
+            return values;
+        }
+
+        private static int indexOf(long[] keys, Quote[] slots, long assetId) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(assetId * 0x9E3779B97F4A7C15L) & mask;
+            while (slots[slot] != null && keys[slot] != assetId) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
@@ -2,22 +2,45 @@ package com.assetinfo.playasset.api.v1.repository;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Date;
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.assetinfo.playasset.analytics.HoldingVector;
+import com.assetinfo.playasset.analytics.PriceMatrix;
+import com.assetinfo.playasset.analytics.SimulationSeries;
 import com.assetinfo.playasset.api.v1.dto.AlertResponse;
 import com.assetinfo.playasset.api.v1.dto.CreateTransactionRequest;
 import com.assetinfo.playasset.api.v1.dto.CreateTransactionResponse;
@@ -26,39 +49,60 @@ import com.assetinfo.playasset.api.v1.dto.MoverSnapshot;
 import com.assetinfo.playasset.api.v1.dto.PositionSnapshot;
 import com.assetinfo.playasset.api.v1.dto.SentimentSnapshot;
 import com.assetinfo.playasset.api.v1.dto.WatchlistItemResponse;
+import com.assetinfo.playasset.api.v1.repository.LatestQuoteIndex.Quote;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Repository
 public class PlatformQueryRepository {
 
-    private final JdbcTemplate jdbcTemplate;
+    private static final int PRICE_MATRIX_BATCH_SIZE = 200;
 
-    public PlatformQueryRepository(JdbcTemplate jdbcTemplate) {
+    private final JdbcTemplate jdbcTemplate;
+    private final LatestQuoteIndex latestQuoteIndex;
+    private final ExecutorService virtualThreadExecutor;
+    private final MeterRegistry meterRegistry;
+    private final AsOfPriceService asOfPriceService;
+    private final boolean asOfPriceLookupEnabled;
+    private final Semaphore dashboardFanOutPermits;
+
+    public PlatformQueryRepository(
+            JdbcTemplate jdbcTemplate,
+            LatestQuoteIndex latestQuoteIndex,
+            ExecutorService virtualThreadExecutor,
+            MeterRegistry meterRegistry,
+            AsOfPriceService asOfPriceService,
+            @Value("${app.price.as-of.enabled:false}") boolean asOfPriceLookupEnabled,
+            @Value("${app.dashboard.fan-out-permits:16}") int dashboardFanOutPermits) {
         this.jdbcTemplate = jdbcTemplate;
+        this.latestQuoteIndex = latestQuoteIndex;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.meterRegistry = meterRegistry;
+        this.asOfPriceService = asOfPriceService;
+        this.asOfPriceLookupEnabled = asOfPriceLookupEnabled;
+        this.dashboardFanOutPermits = new Semaphore(Math.max(1, dashboardFanOutPermits));
     }
 
-    public DashboardResponse loadDashboard(long userId) {
-        String summarySql = """
-                SELECT
-                    COALESCE(SUM(p.quantity * COALESCE(mc.close_price, p.avg_cost)), 0) AS portfolio_value,
-                    COALESCE(SUM(p.quantity * (COALESCE(mc.close_price, p.avg_cost) - p.avg_cost)), 0) AS daily_pnl
-                FROM portfolios pf
-                JOIN portfolio_accounts pa ON pa.portfolio_id = pf.portfolio_id
-                JOIN portfolio_positions p ON p.account_id = pa.account_id
-                LEFT JOIN market_price_candles mc
-                    ON mc.asset_id = p.asset_id
-                   AND mc.interval_code = '1d'
-                   AND mc.candle_time = (
-                       SELECT MAX(c2.candle_time)
-                       FROM market_price_candles c2
-                       WHERE c2.asset_id = p.asset_id
-                         AND c2.interval_code = '1d'
-                   )
-                WHERE pf.user_id = ?
-                """;
-
-        Map<String, Object> summary = jdbcTemplate.queryForMap(summarySql, userId);
-        BigDecimal portfolioValue = getBigDecimal(summary.get("portfolio_value"));
-        BigDecimal dailyPnl = getBigDecimal(summary.get("daily_pnl"));
+    public DashboardResponse loadDashboard(
+            long userId,
+            Supplier<SentimentSnapshot> sentimentSource,
+            Supplier<List<MoverSnapshot>> topMoversSource) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<List<HeldPositionRow>> positionsFuture = supplyTimed("positions", () -> loadHeldPositions(userId));
+        CompletableFuture<DashboardCounters> countersFuture = supplyTimed("counters", () -> loadDashboardCounters(userId));
+        CompletableFuture<SentimentSnapshot> sentimentFuture = supplyTimed("sentiment", sentimentSource);
+        CompletableFuture<List<MoverSnapshot>> topMoversFuture = supplyTimed("topMovers", topMoversSource);
+
+        List<HeldPositionRow> held = await(positionsFuture);
+        BigDecimal portfolioValue = BigDecimal.ZERO;
+        BigDecimal dailyPnl = BigDecimal.ZERO;
+        for (HeldPositionRow row : held) {
+            BigDecimal currentPrice = latestCloseOr(row.assetId(), row.avgCost());
+            portfolioValue = portfolioValue.add(row.quantity().multiply(currentPrice));
+            dailyPnl = dailyPnl.add(row.quantity().multiply(currentPrice.subtract(row.avgCost())));
+        }
+        List<PositionSnapshot> positions = toSortedPositionSnapshots(held);
         BigDecimal dailyPnlRate = BigDecimal.ZERO;
         if (portfolioValue.compareTo(BigDecimal.ZERO) > 0) {
             dailyPnlRate = dailyPnl.divide(portfolioValue, 6, RoundingMode.HALF_UP)
@@ -66,73 +110,124 @@ public class PlatformQueryRepository {
                     .setScale(2, RoundingMode.HALF_UP);
         }
 
-        int watchlistCount = jdbcTemplate.queryForObject("""
-                SELECT COUNT(*)
-                FROM watchlists w
-                JOIN watchlist_items wi ON wi.watchlist_id = w.watchlist_id
-                WHERE w.user_id = ?
-                """, Integer.class, userId);
-
-        int unreadAlertCount = jdbcTemplate.queryForObject("""
-                SELECT COUNT(*)
-                FROM alert_events ae
-                LEFT JOIN user_preferences up ON up.user_id = ae.user_id
-                WHERE ae.user_id = ?
-                  AND ae.status IN ('PENDING', 'SENT')
-                  AND (
-                      (ae.severity = 'LOW' AND COALESCE(up.alert_level_low_enabled, 1) = 1)
-                      OR (ae.severity = 'MEDIUM' AND COALESCE(up.alert_level_medium_enabled, 1) = 1)
-                      OR (ae.severity = 'HIGH' AND COALESCE(up.alert_level_high_enabled, 1) = 1)
-                  )
-                """, Integer.class, userId);
-
-        SentimentSnapshot sentiment = loadSentimentSnapshot();
-        List<PositionSnapshot> topPositions = loadPositions(userId).stream().limit(4).toList();
-        List<MoverSnapshot> topMovers = loadTopMovers();
-
-        return new DashboardResponse(
+        DashboardCounters counters = await(countersFuture);
+        DashboardResponse response = new DashboardResponse(
                 userId,
                 portfolioValue.setScale(2, RoundingMode.HALF_UP),
                 dailyPnl.setScale(2, RoundingMode.HALF_UP),
                 dailyPnlRate,
-                watchlistCount,
-                unreadAlertCount,
-                sentiment,
-                topPositions,
-                topMovers);
+                counters.watchlistCount(),
+                counters.unreadAlertCount(),
+                await(sentimentFuture),
+                positions.stream().limit(4).toList(),
+                await(topMoversFuture));
+        dashboardSectionTimer("total").record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return response;
+    }
+
+    private DashboardCounters loadDashboardCounters(long userId) {
+        return jdbcTemplate.queryForObject("""
+                SELECT
+                    (
+                        SELECT COUNT(*)
+                        FROM watchlists w
+                        JOIN watchlist_items wi ON wi.watchlist_id = w.watchlist_id
+                        WHERE w.user_id = ?
+                    ) AS watchlist_count,
+                    (
+                        SELECT COUNT(*)
+                        FROM alert_events ae
+                        LEFT JOIN user_preferences up ON up.user_id = ae.user_id
+                        WHERE ae.user_id = ?
+                          AND ae.status IN ('PENDING', 'SENT')
+                          AND (
+                              (ae.severity = 'LOW' AND COALESCE(up.alert_level_low_enabled, 1) = 1)
+                              OR (ae.severity = 'MEDIUM' AND COALESCE(up.alert_level_medium_enabled, 1) = 1)
+                              OR (ae.severity = 'HIGH' AND COALESCE(up.alert_level_high_enabled, 1) = 1)
+                          )
+                    ) AS unread_alert_count
+                """, (rs, rowNum) -> new DashboardCounters(
+                rs.getInt("watchlist_count"),
+                rs.getInt("unread_alert_count")), userId, userId);
     }
 
     public List<PositionSnapshot> loadPositions(long userId) {
+        return toSortedPositionSnapshots(loadHeldPositions(userId));
+    }
+
+    private List<HeldPositionRow> loadHeldPositions(long userId) {
         String sql = """
                 SELECT
                     a.asset_id,
                     a.symbol,
                     a.name AS asset_name,
                     p.quantity,
-                    p.avg_cost,
-                    COALESCE(mc.close_price, p.avg_cost) AS current_price,
-                    (p.quantity * COALESCE(mc.close_price, p.avg_cost)) AS valuation,
-                    CASE
-                      WHEN p.avg_cost = 0 THEN 0
-                      ELSE ((COALESCE(mc.close_price, p.avg_cost) - p.avg_cost) / p.avg_cost) * 100
-                    END AS pnl_rate
+                    p.avg_cost
                 FROM portfolios pf
                 JOIN portfolio_accounts pa ON pa.portfolio_id = pf.portfolio_id
                 JOIN portfolio_positions p ON p.account_id = pa.account_id
                 JOIN assets a ON a.asset_id = p.asset_id
-                LEFT JOIN market_price_candles mc
-                    ON mc.asset_id = p.asset_id
-                   AND mc.interval_code = '1d'
-                   AND mc.candle_time = (
-                       SELECT MAX(c2.candle_time)
-                       FROM market_price_candles c2
-                       WHERE c2.asset_id = p.asset_id
-                         AND c2.interval_code = '1d'
-                   )
                 WHERE pf.user_id = ?
-                ORDER BY valuation DESC
                 """;
-        return jdbcTemplate.query(sql, positionMapper(), userId);
+        latestQuotes();
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new HeldPositionRow(
+                rs.getLong("asset_id"),
+                rs.getString("symbol"),
+                rs.getString("asset_name"),
+                rs.getBigDecimal("quantity"),
+                rs.getBigDecimal("avg_cost")), userId);
+    }
+
+    private List<PositionSnapshot> toSortedPositionSnapshots(List<HeldPositionRow> held) {
+        List<PositionSnapshot> positions = new ArrayList<>(held.size());
+        for (HeldPositionRow row : held) {
+            positions.add(toPositionSnapshot(row.assetId(), row.symbol(), row.assetName(), row.quantity(), row.avgCost()));
+        }
+        positions.sort(Comparator.comparing(PositionSnapshot::valuation).reversed());
+        return positions;
+    }
+
+    public List<Long> findRecentlyActiveUserIds(int windowMinutes, int limit) {
+        return jdbcTemplate.queryForList("""
+                SELECT s.user_id
+                FROM auth_sessions s
+                JOIN users u ON u.user_id = s.user_id
+                WHERE s.revoked_at IS NULL
+                  AND s.expires_at > NOW()
+                  AND s.created_at >= NOW() - INTERVAL ? MINUTE
+                  AND u.status = 'ACTIVE'
+                GROUP BY s.user_id
+                ORDER BY MAX(s.created_at) DESC
+                LIMIT ?
+                """, Long.class, windowMinutes, limit);
+    }
+
+    public List<Long> findUserIdsHoldingAssets(Collection<Long> assetIds) {
+        if (assetIds.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(",", Collections.nCopies(assetIds.size(), "?"));
+        return jdbcTemplate.queryForList("""
+                SELECT DISTINCT pf.user_id
+                FROM portfolio_positions p
+                JOIN portfolio_accounts pa ON pa.account_id = p.account_id
+                JOIN portfolios pf ON pf.portfolio_id = pa.portfolio_id
+                WHERE p.asset_id IN (%s)
+                """.formatted(placeholders), Long.class, assetIds.toArray());
+    }
+
+    public List<Long> findUserIdsWatchingAssets(Collection<Long> assetIds) {
+        if (assetIds.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(",", Collections.nCopies(assetIds.size(), "?"));
+        return jdbcTemplate.queryForList("""
+                SELECT DISTINCT w.user_id
+                FROM watchlist_items wi
+                JOIN watchlists w ON w.watchlist_id = wi.watchlist_id
+                WHERE wi.asset_id IN (%s)
+                  AND w.is_default = 1
+                """.formatted(placeholders), Long.class, assetIds.toArray());
     }
 
     public List<WatchlistItemResponse> loadDefaultWatchlist(long userId) {
@@ -141,35 +236,30 @@ public class PlatformQueryRepository {
                     a.asset_id,
                     a.symbol,
                     a.name AS asset_name,
-                    COALESCE(mc.close_price, 0) AS last_price,
-                    CASE
-                      WHEN COALESCE(mc.open_price, 0) = 0 THEN 0
-                      ELSE ((mc.close_price - mc.open_price) / mc.open_price) * 100
-                    END AS change_rate,
                     COALESCE(wi.note, '') AS note
                 FROM watchlists w
                 JOIN watchlist_items wi ON wi.watchlist_id = w.watchlist_id
                 JOIN assets a ON a.asset_id = wi.asset_id
-                LEFT JOIN market_price_candles mc
-                    ON mc.asset_id = a.asset_id
-                   AND mc.interval_code = '1d'
-                   AND mc.candle_time = (
-                       SELECT MAX(c2.candle_time)
-                       FROM market_price_candles c2
-                       WHERE c2.asset_id = a.asset_id
-                         AND c2.interval_code = '1d'
-                   )
                 WHERE w.user_id = ?
                   AND w.is_default = 1
-                ORDER BY ABS(change_rate) DESC, a.symbol
                 """;
-        return jdbcTemplate.query(sql, (rs, rowNum) -> new WatchlistItemResponse(
-                rs.getLong("asset_id"),
-                rs.getString("symbol"),
-                rs.getString("asset_name"),
-                rs.getBigDecimal("last_price").setScale(2, RoundingMode.HALF_UP),
-                rs.getBigDecimal("change_rate").setScale(2, RoundingMode.HALF_UP),
-                rs.getString("note")), userId);
+        LatestQuoteIndex quotes = latestQuotes();
+        List<WatchlistItemResponse> items = new ArrayList<>(jdbcTemplate.query(sql, (rs, rowNum) -> {
+            long assetId = rs.getLong("asset_id");
+            Quote quote = quotes.get(assetId);
+            BigDecimal lastPrice = quote == null ? BigDecimal.ZERO : quote.closePrice();
+            return new WatchlistItemResponse(
+                    assetId,
+                    rs.getString("symbol"),
+                    rs.getString("asset_name"),
+                    lastPrice.setScale(2, RoundingMode.HALF_UP),
+                    changeRate(quote).setScale(2, RoundingMode.HALF_UP),
+                    rs.getString("note"));
+        }, userId));
+        items.sort(Comparator
+                .comparing((WatchlistItemResponse item) -> item.changeRate().abs(), Comparator.reverseOrder())
+                .thenComparing(WatchlistItemResponse::symbol));
+        return items;
     }
 
     public List<AlertResponse> loadRecentAlerts(long userId, int limit) {
@@ -360,29 +450,101 @@ public class PlatformQueryRepository {
     }
 
     public List<MoverSnapshot> loadTopMovers() {
-        String sql = """
-                SELECT
-                    a.symbol,
-                    a.name AS asset_name,
-                    mc.open_price,
-                    mc.close_price,
-                    CASE
-                      WHEN mc.open_price = 0 THEN 0
-                      ELSE ((mc.close_price - mc.open_price) / mc.open_price) * 100
-                    END AS change_rate
-                FROM assets a
-                JOIN market_price_candles mc ON mc.asset_id = a.asset_id
-                WHERE mc.interval_code = '1d'
-                  AND mc.candle_time = (
-                    SELECT MAX(c2.candle_time)
-                    FROM market_price_candles c2
-                    WHERE c2.asset_id = a.asset_id
-                      AND c2.interval_code = '1d'
-                  )
-                ORDER BY ABS(change_rate) DESC
-                LIMIT 4
-                """;
-        return jdbcTemplate.query(sql, moverMapper());
+        List<Quote> movers = latestQuotes().values().stream()
+                .sorted(Comparator.comparing((Quote quote) -> changeRate(quote).abs(), Comparator.reverseOrder()))
+                .limit(4)
+                .toList();
+        if (movers.isEmpty()) {
+            return List.of();
+        }
+
+        String placeholders = String.join(",", Collections.nCopies(movers.size(), "?"));
+        Map<Long, AssetNameRow> names = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT asset_id, symbol, name FROM assets WHERE asset_id IN (" + placeholders + ")",
+                (rs, rowNum) -> new AssetNameRow(rs.getLong("asset_id"), rs.getString("symbol"), rs.getString("name")),
+                movers.stream().map(Quote::assetId).toArray())
+                .forEach(row -> names.put(row.assetId(), row));
+
+        List<MoverSnapshot> result = new ArrayList<>();
+        for (Quote quote : movers) {
+            AssetNameRow name = names.get(quote.assetId());
+            if (name == null) {
+                continue;
+            }
+            result.add(new MoverSnapshot(
+                    name.symbol(),
+                    name.assetName(),
+                    quote.openPrice().setScale(2, RoundingMode.HALF_UP),
+                    quote.closePrice().setScale(2, RoundingMode.HALF_UP),
+                    changeRate(quote).setScale(2, RoundingMode.HALF_UP)));
+        }
+        return result;
+    }
+
+    public List<Quote> loadLatestDailyQuotes() {
+        return jdbcTemplate.query("""
+                SELECT asset_id, candle_time, open_price, close_price, volume
+                FROM asset_latest_quote
+                """, (rs, rowNum) -> new Quote(
+                rs.getLong("asset_id"),
+                rs.getTimestamp("candle_time").toLocalDateTime(),
+                rs.getBigDecimal("open_price"),
+                rs.getBigDecimal("close_price"),
+                rs.getBigDecimal("volume")));
+    }
+
+    public List<CandleUpsertCommand> findLatestQuoteDrift() {
+        return jdbcTemplate.query("""
+                SELECT mc.asset_id, mc.candle_time, mc.open_price, mc.high_price, mc.low_price, mc.close_price, mc.volume
+                FROM (
+                    SELECT asset_id, MAX(candle_time) AS candle_time
+                    FROM market_price_candles
+                    WHERE interval_code = '1d'
+                    GROUP BY asset_id
+                ) latest
+                JOIN market_price_candles mc
+                    ON mc.asset_id = latest.asset_id
+                   AND mc.interval_code = '1d'
+                   AND mc.candle_time = latest.candle_time
+                LEFT JOIN asset_latest_quote q ON q.asset_id = mc.asset_id
+                WHERE q.asset_id IS NULL
+                   OR q.candle_time <> mc.candle_time
+                   OR q.open_price <> mc.open_price
+                   OR q.close_price <> mc.close_price
+                   OR q.volume <> mc.volume
+                """, (rs, rowNum) -> new CandleUpsertCommand(
+                rs.getLong("asset_id"),
+                rs.getTimestamp("candle_time").toLocalDateTime(),
+                rs.getBigDecimal("open_price"),
+                rs.getBigDecimal("high_price"),
+                rs.getBigDecimal("low_price"),
+                rs.getBigDecimal("close_price"),
+                rs.getBigDecimal("volume")));
+    }
+
+    public void repairLatestQuotes(List<CandleUpsertCommand> commands) {
+        if (commands.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO asset_latest_quote
+                (asset_id, candle_time, open_price, high_price, low_price, close_price, volume)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE
+                    candle_time = VALUES(candle_time),
+                    open_price = VALUES(open_price),
+                    high_price = VALUES(high_price),
+                    low_price = VALUES(low_price),
+                    close_price = VALUES(close_price),
+                    volume = VALUES(volume)
+                """, commands, commands.size(), this::bindLatestQuote);
+    }
+
+    public int warmLatestQuoteIndex() {
+        List<Quote> quotes = loadLatestDailyQuotes();
+        latestQuoteIndex.replaceAll(quotes);
+        return quotes.size();
     }
 
     public SentimentSnapshot loadSentimentSnapshot() {
@@ -448,36 +610,51 @@ public class PlatformQueryRepository {
                 rs.getBigDecimal("expense_ratio_pct").setScale(4, RoundingMode.HALF_UP)));
     }
 
-    public void insertPortfolioAdviceLog(
-            long userId,
-            String adviceHeadline,
-            String riskLevel,
-            BigDecimal sharpeRatio,
-            BigDecimal concentrationPct,
-            LocalDateTime generatedAt) {
+    public String findAdvisorEtfCatalogVersion() {
+        return jdbcTemplate.queryForObject("""
+                SELECT CONCAT(COUNT(*), ':', COALESCE(MAX(updated_at), '-')) AS catalog_version
+                FROM advisor_etf_catalog
+                """, String.class);
+    }
+
+    public void insertPortfolioAdviceLogs(List<PortfolioAdviceLogCommand> commands) {
+        if (commands.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>(commands.size() * 6);
+        for (PortfolioAdviceLogCommand command : commands) {
+            args.add(command.userId());
+            args.add(command.adviceHeadline());
+            args.add(command.riskLevel());
+            args.add(command.sharpeRatio());
+            args.add(command.concentrationPct());
+            args.add(Timestamp.valueOf(command.generatedAt()));
+        }
         jdbcTemplate.update("""
                 INSERT INTO portfolio_advice_logs
                 (user_id, advice_headline, risk_level, sharpe_ratio, concentration_pct, generated_at)
-                VALUES (?, ?, ?, ?, ?, ?)
-                """,
-                userId,
-                adviceHeadline,
-                riskLevel,
-                sharpeRatio,
-                concentrationPct,
-                Timestamp.valueOf(generatedAt));
+                VALUES %s
+                """.formatted(String.join(",", Collections.nCopies(commands.size(), "(?, ?, ?, ?, ?, ?)"))),
+                args.toArray());
     }
 
-    public void insertPromptExecutionLog(
-            String promptKey,
-            String promptVersion,
-            Long userId,
-            boolean cacheHit,
-            Integer tokenInCount,
-            Integer tokenOutCount,
-            Integer elapsedMs,
-            String statusCode,
-            String errorMessage) {
+    public void insertPromptExecutionLogs(List<PromptExecutionLogCommand> commands) {
+        if (commands.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>(commands.size() * 10);
+        for (PromptExecutionLogCommand command : commands) {
+            args.add(command.promptKey());
+            args.add(command.promptVersion());
+            args.add(command.userId());
+            args.add(command.cacheHit() ? 1 : 0);
+            args.add(command.tokenInCount());
+            args.add(command.tokenOutCount());
+            args.add(command.elapsedMs());
+            args.add(command.statusCode());
+            args.add(command.errorMessage());
+            args.add(Timestamp.valueOf(command.createdAt()));
+        }
         jdbcTemplate.update("""
                 INSERT INTO TX_LLM_PROMPT_EXEC_LOG(
                     prompt_key,
@@ -491,17 +668,9 @@ public class PlatformQueryRepository {
                     error_message,
                     created_at
                 )
-                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, NOW())
-                """,
-                promptKey,
-                promptVersion,
-                userId,
-                cacheHit ? 1 : 0,
-                tokenInCount,
-                tokenOutCount,
-                elapsedMs,
-                statusCode,
-                errorMessage);
+                VALUES %s
+                """.formatted(String.join(",", Collections.nCopies(commands.size(), "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"))),
+                args.toArray());
     }
 
     public List<Long> findUsersWithOpenPositions() {
@@ -515,6 +684,102 @@ public class PlatformQueryRepository {
                 """, (rs, rowNum) -> rs.getLong("user_id"));
     }
 
+    public BatchCheckpoint findBatchCheckpoint(String jobKey) {
+        List<BatchCheckpoint> rows = jdbcTemplate.query("""
+                SELECT status, last_user_id, processed_count, failed_count, started_at
+                FROM batch_job_checkpoints
+                WHERE job_key = ?
+                """, (rs, rowNum) -> new BatchCheckpoint(
+                rs.getString("status"),
+                rs.getLong("last_user_id"),
+                rs.getInt("processed_count"),
+                rs.getInt("failed_count"),
+                rs.getTimestamp("started_at").toLocalDateTime()), jobKey);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    public void startBatchCheckpoint(String jobKey, LocalDateTime startedAt) {
+        jdbcTemplate.update("""
+                INSERT INTO batch_job_checkpoints (job_key, status, last_user_id, processed_count, failed_count, started_at)
+                VALUES (?, 'RUNNING', 0, 0, 0, ?)
+                ON DUPLICATE KEY UPDATE
+                    status = 'RUNNING',
+                    last_user_id = 0,
+                    processed_count = 0,
+                    failed_count = 0,
+                    started_at = VALUES(started_at)
+                """, jobKey, Timestamp.valueOf(startedAt));
+    }
+
+    public void advanceBatchCheckpoint(String jobKey, long lastUserId, int processed, int failed) {
+        jdbcTemplate.update("""
+                UPDATE batch_job_checkpoints
+                SET last_user_id = GREATEST(last_user_id, ?),
+                    processed_count = processed_count + ?,
+                    failed_count = failed_count + ?
+                WHERE job_key = ?
+                """, lastUserId, processed, failed, jobKey);
+    }
+
+    public void completeBatchCheckpoint(String jobKey) {
+        jdbcTemplate.update("""
+                UPDATE batch_job_checkpoints
+                SET status = 'COMPLETED'
+                WHERE job_key = ?
+                """, jobKey);
+    }
+
+    public boolean tryAcquireBatchLease(String leaseKey, String holderId, int ttlSeconds) {
+        jdbcTemplate.update("""
+                INSERT INTO batch_job_leases (lease_key, holder_id, acquired_at, heartbeat_at, lease_until)
+                VALUES (?, ?, NOW(3), NOW(3), NOW(3) - INTERVAL 1 SECOND)
+                ON DUPLICATE KEY UPDATE lease_key = lease_key
+                """, leaseKey, holderId);
+        return jdbcTemplate.update("""
+                UPDATE batch_job_leases
+                SET holder_id = ?,
+                    acquired_at = NOW(3),
+                    heartbeat_at = NOW(3),
+                    lease_until = NOW(3) + INTERVAL ? SECOND
+                WHERE lease_key = ?
+                  AND lease_until < NOW(3)
+                """, holderId, ttlSeconds, leaseKey) > 0;
+    }
+
+    public List<String> findExpiredRunningCheckpoints(List<String> jobKeys) {
+        if (jobKeys.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(",", Collections.nCopies(jobKeys.size(), "?"));
+        return jdbcTemplate.queryForList("""
+                SELECT c.job_key
+                FROM batch_job_checkpoints c
+                JOIN batch_job_leases l ON l.lease_key = c.job_key
+                WHERE c.job_key IN (%s)
+                  AND c.status = 'RUNNING'
+                  AND l.lease_until < NOW(3)
+                """.formatted(placeholders), String.class, jobKeys.toArray());
+    }
+
+    public boolean renewBatchLease(String leaseKey, String holderId, int ttlSeconds) {
+        return jdbcTemplate.update("""
+                UPDATE batch_job_leases
+                SET heartbeat_at = NOW(3),
+                    lease_until = NOW(3) + INTERVAL ? SECOND
+                WHERE lease_key = ?
+                  AND holder_id = ?
+                """, ttlSeconds, leaseKey, holderId) > 0;
+    }
+
+    public void releaseBatchLease(String leaseKey, String holderId, long holdSeconds) {
+        jdbcTemplate.update("""
+                UPDATE batch_job_leases
+                SET lease_until = GREATEST(NOW(3), acquired_at + INTERVAL ? SECOND)
+                WHERE lease_key = ?
+                  AND holder_id = ?
+                """, holdSeconds, leaseKey, holderId);
+    }
+
     public LocalDate findDefaultSimulationStartDate(long userId) {
         List<LocalDate> rows = jdbcTemplate.query("""
                 SELECT DATE(MIN(pt.occurred_at)) AS start_date
@@ -537,54 +802,60 @@ public class PlatformQueryRepository {
         return rows.get(0);
     }
 
-    public List<SimulationDailyValuePoint> loadCurrentPortfolioHistoricalValues(
+    public SimulationSeries loadCurrentPortfolioHistoricalSeries(
             long userId,
             LocalDate startDate,
             LocalDate endDate) {
         String sql = """
-                WITH latest_daily AS (
+                WITH held AS (
+                    SELECT p.asset_id, SUM(p.quantity) AS quantity
+                    FROM portfolios pf
+                    JOIN portfolio_accounts pa ON pa.portfolio_id = pf.portfolio_id
+                    JOIN portfolio_positions p ON p.account_id = pa.account_id
+                    WHERE pf.user_id = ?
+                      AND p.quantity > 0
+                    GROUP BY p.asset_id
+                ),
+                latest_daily AS (
                     SELECT
-                        asset_id,
-                        DATE(candle_time) AS snapshot_date,
-                        MAX(candle_time) AS latest_candle_time
-                    FROM market_price_candles
-                    WHERE interval_code = '1d'
-                      AND DATE(candle_time) BETWEEN ? AND ?
-                    GROUP BY asset_id, DATE(candle_time)
+                        c.asset_id,
+                        DATE(c.candle_time) AS snapshot_date,
+                        MAX(c.candle_time) AS latest_candle_time
+                    FROM held h
+                    JOIN market_price_candles c
+                        ON c.asset_id = h.asset_id
+                       AND c.interval_code = '1d'
+                       AND c.candle_time >= ?
+                       AND c.candle_time < ?
+                    GROUP BY c.asset_id, DATE(c.candle_time)
                 )
                 SELECT
                     ld.snapshot_date,
-                    COALESCE(SUM(p.quantity * mc.close_price), 0) AS simulated_value
-                FROM portfolios pf
-                JOIN portfolio_accounts pa ON pa.portfolio_id = pf.portfolio_id
-                JOIN portfolio_positions p ON p.account_id = pa.account_id
-                JOIN latest_daily ld ON ld.asset_id = p.asset_id
+                    COALESCE(SUM(h.quantity * mc.close_price), 0) AS simulated_value
+                FROM latest_daily ld
+                JOIN held h ON h.asset_id = ld.asset_id
                 JOIN market_price_candles mc
                     ON mc.asset_id = ld.asset_id
-                   AND mc.candle_time = ld.latest_candle_time
                    AND mc.interval_code = '1d'
-                WHERE pf.user_id = ?
-                  AND p.quantity > 0
-                  AND ld.snapshot_date BETWEEN ? AND ?
+                   AND mc.candle_time = ld.latest_candle_time
                 GROUP BY ld.snapshot_date
                 ORDER BY snapshot_date
                 """;
-        return jdbcTemplate.query(sql, (rs, rowNum) -> new SimulationDailyValuePoint(
+        SimulationSeries series = new SimulationSeries((int) ChronoUnit.DAYS.between(startDate, endDate) + 1);
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> series.add(
                 rs.getDate("snapshot_date").toLocalDate(),
-                rs.getBigDecimal("simulated_value").setScale(6, RoundingMode.HALF_UP)),
-                Date.valueOf(startDate),
-                Date.valueOf(endDate),
+                rs.getDouble("simulated_value")),
                 userId,
-                Date.valueOf(startDate),
-                Date.valueOf(endDate));
+                Timestamp.valueOf(startDate.atStartOfDay()),
+                Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+        return series;
     }
 
-    public void batchUpsertSimulationSnapshots(
-            long userId,
-            List<SimulationSnapshotUpsertCommand> commands) {
-        if (commands.isEmpty()) {
+    public void batchUpsertSimulationSnapshots(long userId, SimulationSeries series, double baseValue) {
+        if (series.isEmpty()) {
             return;
         }
+        BigDecimal base = scaled(baseValue);
         jdbcTemplate.batchUpdate("""
                 INSERT INTO portfolio_simulation_snapshots
                 (user_id, snapshot_date, simulated_value, base_value, cumulative_return_pct, daily_return_pct, drawdown_pct)
@@ -596,17 +867,228 @@ public class PlatformQueryRepository {
                     daily_return_pct = VALUES(daily_return_pct),
                     drawdown_pct = VALUES(drawdown_pct),
                     updated_at = CURRENT_TIMESTAMP
-                """, commands, commands.size(), (ps, item) -> {
-                    ps.setLong(1, userId);
-                    ps.setDate(2, Date.valueOf(item.snapshotDate()));
-                    ps.setBigDecimal(3, item.simulatedValue());
-                    ps.setBigDecimal(4, item.baseValue());
-                    ps.setBigDecimal(5, item.cumulativeReturnPct());
-                    ps.setBigDecimal(6, item.dailyReturnPct());
-                    ps.setBigDecimal(7, item.drawdownPct());
+                """, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, userId);
+                        ps.setDate(2, Date.valueOf(series.date(i)));
+                        ps.setBigDecimal(3, scaled(series.value(i)));
+                        ps.setBigDecimal(4, base);
+                        ps.setBigDecimal(5, scaled(series.cumulativeReturnPct(i)));
+                        ps.setBigDecimal(6, scaled(series.dailyReturnPct(i)));
+                        ps.setBigDecimal(7, scaled(series.drawdownPct(i)));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return series.size();
+                    }
                 });
     }
 
+    private static BigDecimal scaled(double value) {
+        return BigDecimal.valueOf(value).setScale(6, RoundingMode.HALF_UP);
+    }
+
+    public String findHoldingsFingerprint(long userId) {
+        List<String> holdings = jdbcTemplate.query("""
+                SELECT p.asset_id, SUM(p.quantity) AS quantity
+                FROM portfolios pf
+                JOIN portfolio_accounts pa ON pa.portfolio_id = pf.portfolio_id
+                JOIN portfolio_positions p ON p.account_id = pa.account_id
+                WHERE pf.user_id = ?
+                  AND p.quantity > 0
+                GROUP BY p.asset_id
+                ORDER BY p.asset_id
+                """, (rs, rowNum) -> holdingToken(rs.getLong("asset_id"), rs.getBigDecimal("quantity")), userId);
+        return holdingsFingerprint(holdings);
+    }
+
+    public Map<Long, HoldingVector> loadOpenHoldingVectors() {
+        List<OpenHoldingRow> rows = jdbcTemplate.query("""
+                SELECT pf.user_id, p.asset_id, SUM(p.quantity) AS quantity
+                FROM portfolios pf
+                JOIN portfolio_accounts pa ON pa.portfolio_id = pf.portfolio_id
+                JOIN portfolio_positions p ON p.account_id = pa.account_id
+                WHERE p.quantity > 0
+                GROUP BY pf.user_id, p.asset_id
+                ORDER BY pf.user_id, p.asset_id
+                """, (rs, rowNum) -> new OpenHoldingRow(
+                rs.getLong("user_id"),
+                rs.getLong("asset_id"),
+                rs.getBigDecimal("quantity")));
+
+        Map<Long, HoldingVector> vectors = new HashMap<>();
+        int from = 0;
+        while (from < rows.size()) {
+            long userId = rows.get(from).userId();
+            int to = from;
+            while (to < rows.size() && rows.get(to).userId() == userId) {
+                to++;
+            }
+            long[] assetIds = new long[to - from];
+            double[] quantities = new double[to - from];
+            List<String> tokens = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                OpenHoldingRow row = rows.get(i);
+                assetIds[i - from] = row.assetId();
+                quantities[i - from] = row.quantity().doubleValue();
+                tokens.add(holdingToken(row.assetId(), row.quantity()));
+            }
+            vectors.put(userId, new HoldingVector(assetIds, quantities, holdingsFingerprint(tokens)));
+            from = to;
+        }
+        return vectors;
+    }
+
+    public PriceMatrix loadDailyClosePriceMatrix(Collection<Long> assetIds, LocalDate startDate, LocalDate endDate) {
+        List<Long> ids = List.copyOf(assetIds);
+        PriceMatrix.Builder builder = PriceMatrix.builder(startDate, endDate, ids.size());
+        for (int from = 0; from < ids.size(); from += PRICE_MATRIX_BATCH_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + PRICE_MATRIX_BATCH_SIZE, ids.size()));
+            List<Object> args = new ArrayList<>(chunk.size() + 2);
+            args.add(Timestamp.valueOf(startDate.atStartOfDay()));
+            args.add(Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+            args.addAll(chunk);
+            jdbcTemplate.query("""
+                    SELECT asset_id, candle_time, close_price
+                    FROM market_price_candles
+                    WHERE interval_code = '1d'
+                      AND candle_time >= ?
+                      AND candle_time < ?
+                      AND asset_id IN (%s)
+                    ORDER BY asset_id, candle_time
+                    """.formatted(String.join(",", Collections.nCopies(chunk.size(), "?"))),
+                    (RowCallbackHandler) rs -> builder.put(
+                            rs.getLong("asset_id"),
+                            rs.getTimestamp("candle_time").toLocalDateTime().toLocalDate(),
+                            rs.getDouble("close_price")),
+                    args.toArray());
+        }
+        return builder.build();
+    }
+
+    public static String holdingsFingerprint(Collection<PositionSnapshot> positions) {
+        Map<Long, BigDecimal> quantities = new TreeMap<>();
+        for (PositionSnapshot position : positions) {
+            if (position.quantity().signum() > 0) {
+                quantities.merge(position.assetId(), position.quantity(), BigDecimal::add);
+            }
+        }
+        List<String> holdings = new ArrayList<>(quantities.size());
+        quantities.forEach((assetId, quantity) -> holdings.add(holdingToken(assetId, quantity)));
+        return holdingsFingerprint(holdings);
+    }
+
+    private static String holdingToken(long assetId, BigDecimal quantity) {
+        return assetId + ":" + quantity.setScale(6, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private static String holdingsFingerprint(List<String> holdings) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String holding : holdings) {
+                digest.update(holding.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) ',');
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    public PortfolioAdviceSnapshotRow findPortfolioAdviceSnapshot(long userId) {
+        return jdbcTemplate.queryForObject("""
+                SELECT COALESCE(v.inputs_version, 0) AS inputs_version, s.inputs_hash, s.advice_json, s.computed_at
+                FROM (SELECT ? AS user_id) u
+                LEFT JOIN portfolio_advice_input_versions v ON v.user_id = u.user_id
+                LEFT JOIN portfolio_advice_snapshots s ON s.user_id = u.user_id
+                """, (rs, rowNum) -> {
+                    Timestamp computedAt = rs.getTimestamp("computed_at");
+                    return new PortfolioAdviceSnapshotRow(
+                            rs.getLong("inputs_version"),
+                            rs.getString("inputs_hash"),
+                            rs.getString("advice_json"),
+                            computedAt == null ? null : computedAt.toLocalDateTime());
+                }, userId);
+    }
+
+    public long findAdviceInputsVersion(long userId) {
+        List<Long> rows = jdbcTemplate.queryForList("""
+                SELECT inputs_version
+                FROM portfolio_advice_input_versions
+                WHERE user_id = ?
+                """, Long.class, userId);
+        return rows.isEmpty() ? 0 : rows.get(0);
+    }
+
+    public void bumpAdviceInputsVersion(long userId) {
+        jdbcTemplate.update("""
+                INSERT INTO portfolio_advice_input_versions (user_id, inputs_version)
+                VALUES (?, 1)
+                ON DUPLICATE KEY UPDATE inputs_version = inputs_version + 1
+                """, userId);
+    }
+
+    public void upsertPortfolioAdviceSnapshot(long userId, String inputsHash, String adviceJson, LocalDateTime computedAt) {
+        jdbcTemplate.update("""
+                INSERT INTO portfolio_advice_snapshots (user_id, inputs_hash, advice_json, computed_at)
+                VALUES (?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE
+                    inputs_hash = VALUES(inputs_hash),
+                    advice_json = VALUES(advice_json),
+                    computed_at = VALUES(computed_at)
+                """, userId, inputsHash, adviceJson, Timestamp.valueOf(computedAt));
+    }
+
+    public SimulationState findSimulationState(long userId) {
+        List<SimulationState> rows = jdbcTemplate.query("""
+                SELECT holdings_hash, window_start, base_value, anchor_date, anchor_value, anchor_peak_value
+                FROM portfolio_simulation_state
+                WHERE user_id = ?
+                """, (rs, rowNum) -> {
+                    Date anchorDate = rs.getDate("anchor_date");
+                    return new SimulationState(
+                            rs.getString("holdings_hash"),
+                            rs.getDate("window_start").toLocalDate(),
+                            rs.getBigDecimal("base_value"),
+                            anchorDate == null ? null : anchorDate.toLocalDate(),
+                            rs.getBigDecimal("anchor_value"),
+                            rs.getBigDecimal("anchor_peak_value"));
+                }, userId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    public void upsertSimulationState(long userId, SimulationState state, boolean fullRebuild) {
+        jdbcTemplate.update("""
+                INSERT INTO portfolio_simulation_state
+                (user_id, holdings_hash, window_start, base_value, anchor_date, anchor_value, anchor_peak_value, rebuilt_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+                ON DUPLICATE KEY UPDATE
+                    holdings_hash = VALUES(holdings_hash),
+                    window_start = VALUES(window_start),
+                    base_value = VALUES(base_value),
+                    anchor_date = VALUES(anchor_date),
+                    anchor_value = VALUES(anchor_value),
+                    anchor_peak_value = VALUES(anchor_peak_value),
+                    rebuilt_at = IF(?, CURRENT_TIMESTAMP, rebuilt_at),
+                    updated_at = CURRENT_TIMESTAMP
+                """,
+                userId,
+                state.holdingsHash(),
+                Date.valueOf(state.windowStart()),
+                state.baseValue(),
+                state.anchorDate() == null ? null : Date.valueOf(state.anchorDate()),
+                state.anchorValue(),
+                state.anchorPeakValue(),
+                fullRebuild);
+    }
+
+    public void deleteSimulationHistory(long userId) {
+        jdbcTemplate.update("DELETE FROM portfolio_simulation_snapshots WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM portfolio_simulation_state WHERE user_id = ?", userId);
+    }
+
     public List<SimulationSnapshotRow> loadSimulationSnapshots(
             long userId,
             LocalDate startDate,
@@ -629,40 +1111,97 @@ public class PlatformQueryRepository {
                 Date.valueOf(endDate));
     }
 
+    public List<DailyPortfolioValuePoint> loadSimulatedDailyValues(
+            long userId,
+            LocalDate startDate,
+            LocalDate endDate) {
+        String sql = """
+                SELECT snapshot_date, simulated_value
+                FROM portfolio_simulation_snapshots
+                WHERE user_id = ?
+                  AND snapshot_date BETWEEN ? AND ?
+                ORDER BY snapshot_date
+                """;
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new DailyPortfolioValuePoint(
+                rs.getDate("snapshot_date").toLocalDate(),
+                rs.getBigDecimal("simulated_value").setScale(2, RoundingMode.HALF_UP)),
+                userId,
+                Date.valueOf(startDate),
+                Date.valueOf(endDate));
+    }
+
+
     public List<SimulationPositionContributionRow> loadSimulationPositionContributions(
             long userId,
             LocalDate startDate,
             LocalDate endDate) {
+        if (asOfPriceLookupEnabled) {
+            return loadSimulationPositionContributionsFromIndex(userId, startDate, endDate);
+        }
         String sql = """
+                WITH held AS (
+                    SELECT p.asset_id, p.quantity, p.avg_cost
+                    FROM portfolios pf
+                    JOIN portfolio_accounts pa ON pa.portfolio_id = pf.portfolio_id
+                    JOIN portfolio_positions p ON p.account_id = pa.account_id
+                    WHERE pf.user_id = ?
+                      AND p.quantity > 0
+                ),
+                start_at AS (
+                    SELECT c.asset_id, MAX(c.candle_time) AS candle_time
+                    FROM market_price_candles c
+                    WHERE c.asset_id IN (SELECT asset_id FROM held)
+                      AND c.interval_code = '1d'
+                      AND c.candle_time < ?
+                    GROUP BY c.asset_id
+                ),
+                end_at AS (
+                    SELECT c.asset_id, MAX(c.candle_time) AS candle_time
+                    FROM market_price_candles c
+                    WHERE c.asset_id IN (SELECT asset_id FROM held)
+                      AND c.interval_code = '1d'
+                      AND c.candle_time < ?
+                    GROUP BY c.asset_id
+                )
                 SELECT
                     a.asset_id,
                     a.symbol,
                     a.name AS asset_name,
-                    p.quantity,
-                    COALESCE(
-                        (
-                            SELECT c1.close_price
-                            FROM market_price_candles c1
-                            WHERE c1.asset_id = p.asset_id
-                              AND c1.interval_code = '1d'
-                              AND DATE(c1.candle_time) <= ?
-                            ORDER BY c1.candle_time DESC
-                            LIMIT 1
-                        ),
-                        p.avg_cost
-                    ) AS start_price,
-                    COALESCE(
-                        (
-                            SELECT c2.close_price
-                            FROM market_price_candles c2
-                            WHERE c2.asset_id = p.asset_id
-                              AND c2.interval_code = '1d'
-                              AND DATE(c2.candle_time) <= ?
-                            ORDER BY c2.candle_time DESC
-                            LIMIT 1
-                        ),
-                        p.avg_cost
-                    ) AS end_price
+                    h.quantity,
+                    COALESCE(cs.close_price, h.avg_cost) AS start_price,
+                    COALESCE(ce.close_price, h.avg_cost) AS end_price
+                FROM held h
+                JOIN assets a ON a.asset_id = h.asset_id
+                LEFT JOIN start_at sa ON sa.asset_id = h.asset_id
+                LEFT JOIN market_price_candles cs
+                    ON cs.asset_id = sa.asset_id
+                   AND cs.interval_code = '1d'
+                   AND cs.candle_time = sa.candle_time
+                LEFT JOIN end_at ea ON ea.asset_id = h.asset_id
+                LEFT JOIN market_price_candles ce
+                    ON ce.asset_id = ea.asset_id
+                   AND ce.interval_code = '1d'
+                   AND ce.candle_time = ea.candle_time
+                ORDER BY h.quantity DESC
+                """;
+        return jdbcTemplate.query(sql, (rs, rowNum) -> contributionRow(
+                rs.getLong("asset_id"),
+                rs.getString("symbol"),
+                rs.getString("asset_name"),
+                rs.getBigDecimal("quantity"),
+                rs.getBigDecimal("start_price"),
+                rs.getBigDecimal("end_price")),
+                userId,
+                Timestamp.valueOf(startDate.plusDays(1).atStartOfDay()),
+                Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+    }
+
+    private List<SimulationPositionContributionRow> loadSimulationPositionContributionsFromIndex(
+            long userId,
+            LocalDate startDate,
+            LocalDate endDate) {
+        List<HeldPositionRow> held = jdbcTemplate.query("""
+                SELECT a.asset_id, a.symbol, a.name AS asset_name, p.quantity, p.avg_cost
                 FROM portfolios pf
                 JOIN portfolio_accounts pa ON pa.portfolio_id = pf.portfolio_id
                 JOIN portfolio_positions p ON p.account_id = pa.account_id
@@ -670,28 +1209,59 @@ public class PlatformQueryRepository {
                 WHERE pf.user_id = ?
                   AND p.quantity > 0
                 ORDER BY p.quantity DESC
-                """;
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            BigDecimal quantity = rs.getBigDecimal("quantity").setScale(6, RoundingMode.HALF_UP);
-            BigDecimal startPrice = rs.getBigDecimal("start_price").setScale(2, RoundingMode.HALF_UP);
-            BigDecimal endPrice = rs.getBigDecimal("end_price").setScale(2, RoundingMode.HALF_UP);
-            BigDecimal pnlAmount = endPrice.subtract(startPrice).multiply(quantity).setScale(2, RoundingMode.HALF_UP);
-            BigDecimal pnlRate = startPrice.compareTo(BigDecimal.ZERO) == 0
-                    ? BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP)
-                    : endPrice.subtract(startPrice)
-                            .divide(startPrice, 8, RoundingMode.HALF_UP)
-                            .multiply(BigDecimal.valueOf(100))
-                            .setScale(2, RoundingMode.HALF_UP);
-            return new SimulationPositionContributionRow(
-                    rs.getLong("asset_id"),
-                    rs.getString("symbol"),
-                    rs.getString("asset_name"),
-                    quantity,
-                    startPrice,
-                    endPrice,
-                    pnlAmount,
-                    pnlRate);
-        }, Date.valueOf(startDate), Date.valueOf(endDate), userId);
+                """, (rs, rowNum) -> new HeldPositionRow(
+                rs.getLong("asset_id"),
+                rs.getString("symbol"),
+                rs.getString("asset_name"),
+                rs.getBigDecimal("quantity"),
+                rs.getBigDecimal("avg_cost")), userId);
+        if (held.isEmpty()) {
+            return List.of();
+        }
+        List<Long> assetIds = held.stream().map(HeldPositionRow::assetId).toList();
+        Map<Long, Double> startCloses = asOfPriceService.closesOnOrBefore(assetIds, startDate);
+        Map<Long, Double> endCloses = asOfPriceService.closesOnOrBefore(assetIds, endDate);
+        return held.stream()
+                .map(row -> contributionRow(
+                        row.assetId(),
+                        row.symbol(),
+                        row.assetName(),
+                        row.quantity(),
+                        closeOrCost(startCloses.get(row.assetId()), row.avgCost()),
+                        closeOrCost(endCloses.get(row.assetId()), row.avgCost())))
+                .toList();
+    }
+
+    private static BigDecimal closeOrCost(Double close, BigDecimal avgCost) {
+        return close == null ? avgCost : BigDecimal.valueOf(close);
+    }
+
+    private static SimulationPositionContributionRow contributionRow(
+            long assetId,
+            String symbol,
+            String assetName,
+            BigDecimal rawQuantity,
+            BigDecimal rawStartPrice,
+            BigDecimal rawEndPrice) {
+        BigDecimal quantity = rawQuantity.setScale(6, RoundingMode.HALF_UP);
+        BigDecimal startPrice = rawStartPrice.setScale(2, RoundingMode.HALF_UP);
+        BigDecimal endPrice = rawEndPrice.setScale(2, RoundingMode.HALF_UP);
+        BigDecimal pnlAmount = endPrice.subtract(startPrice).multiply(quantity).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal pnlRate = startPrice.compareTo(BigDecimal.ZERO) == 0
+                ? BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP)
+                : endPrice.subtract(startPrice)
+                        .divide(startPrice, 8, RoundingMode.HALF_UP)
+                        .multiply(BigDecimal.valueOf(100))
+                        .setScale(2, RoundingMode.HALF_UP);
+        return new SimulationPositionContributionRow(
+                assetId,
+                symbol,
+                assetName,
+                quantity,
+                startPrice,
+                endPrice,
+                pnlAmount,
+                pnlRate);
     }
 
     public CreateTransactionResponse createTransaction(CreateTransactionRequest request) {
@@ -961,6 +1531,7 @@ public class PlatformQueryRepository {
         return count == null ? 0 : count;
     }
 
+    @Transactional
     public void batchUpsertDailyCandles(List<CandleUpsertCommand> commands) {
         if (commands.isEmpty()) {
             return;
@@ -985,18 +1556,26 @@ public class PlatformQueryRepository {
                     ps.setBigDecimal(6, item.closePrice());
                     ps.setBigDecimal(7, item.volume());
                 });
+
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO asset_latest_quote
+                (asset_id, candle_time, open_price, high_price, low_price, close_price, volume)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE
+                    open_price = IF(VALUES(candle_time) >= candle_time, VALUES(open_price), open_price),
+                    high_price = IF(VALUES(candle_time) >= candle_time, VALUES(high_price), high_price),
+                    low_price = IF(VALUES(candle_time) >= candle_time, VALUES(low_price), low_price),
+                    close_price = IF(VALUES(candle_time) >= candle_time, VALUES(close_price), close_price),
+                    volume = IF(VALUES(candle_time) >= candle_time, VALUES(volume), volume),
+                    candle_time = GREATEST(candle_time, VALUES(candle_time))
+                """, commands, commands.size(), this::bindLatestQuote);
     }
 
     public BigDecimal findLatestClosePrice(long assetId) {
-        String sql = """
-                SELECT close_price
-                FROM market_price_candles
-                WHERE asset_id = ?
-                  AND interval_code = '1d'
-                ORDER BY candle_time DESC
-                LIMIT 1
-                """;
-        List<BigDecimal> values = jdbcTemplate.query(sql, (rs, rowNum) -> rs.getBigDecimal("close_price"), assetId);
+        List<BigDecimal> values = jdbcTemplate.query(
+                "SELECT close_price FROM asset_latest_quote WHERE asset_id = ?",
+                (rs, rowNum) -> rs.getBigDecimal("close_price"),
+                assetId);
         if (values.isEmpty()) {
             return BigDecimal.valueOf(10000);
         }
@@ -1176,25 +1755,117 @@ public class PlatformQueryRepository {
         return new BigDecimal(value.toString());
     }
 
-    private RowMapper<PositionSnapshot> positionMapper() {
-        return (rs, rowNum) -> new PositionSnapshot(
-                rs.getLong("asset_id"),
-                rs.getString("symbol"),
-                rs.getString("asset_name"),
-                rs.getBigDecimal("quantity").setScale(6, RoundingMode.HALF_UP),
-                rs.getBigDecimal("avg_cost").setScale(2, RoundingMode.HALF_UP),
-                rs.getBigDecimal("current_price").setScale(2, RoundingMode.HALF_UP),
-                rs.getBigDecimal("valuation").setScale(2, RoundingMode.HALF_UP),
-                rs.getBigDecimal("pnl_rate").setScale(2, RoundingMode.HALF_UP));
+    private void bindLatestQuote(PreparedStatement ps, CandleUpsertCommand item) throws SQLException {
+        ps.setLong(1, item.assetId());
+        ps.setTimestamp(2, Timestamp.valueOf(item.candleTime()));
+        ps.setBigDecimal(3, item.openPrice());
+        ps.setBigDecimal(4, item.highPrice());
+        ps.setBigDecimal(5, item.lowPrice());
+        ps.setBigDecimal(6, item.closePrice());
+        ps.setBigDecimal(7, item.volume());
     }
 
-    private RowMapper<MoverSnapshot> moverMapper() {
-        return (rs, rowNum) -> new MoverSnapshot(
-                rs.getString("symbol"),
-                rs.getString("asset_name"),
-                rs.getBigDecimal("open_price").setScale(2, RoundingMode.HALF_UP),
-                rs.getBigDecimal("close_price").setScale(2, RoundingMode.HALF_UP),
-                rs.getBigDecimal("change_rate").setScale(2, RoundingMode.HALF_UP));
+    private <T> CompletableFuture<T> supplyTimed(String section, Supplier<T> supplier) {
+        Timer timer = dashboardSectionTimer(section);
+        if (!dashboardFanOutPermits.tryAcquire()) {
+            return CompletableFuture.completedFuture(timer.record(supplier));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return timer.record(supplier);
+                } finally {
+                    dashboardFanOutPermits.release();
+                }
+            }, virtualThreadExecutor);
+        } catch (RuntimeException ex) {
+            dashboardFanOutPermits.release();
+            throw ex;
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private Timer dashboardSectionTimer(String section) {
+        return Timer.builder("playasset.dashboard.section")
+                .description("Time spent assembling each dashboard section")
+                .tag("section", section)
+                .register(meterRegistry);
+    }
+
+    private LatestQuoteIndex latestQuotes() {
+        if (!latestQuoteIndex.isWarm()) {
+            warmLatestQuoteIndex();
+        }
+        return latestQuoteIndex;
+    }
+
+    private BigDecimal latestCloseOr(long assetId, BigDecimal fallback) {
+        Quote quote = latestQuotes().get(assetId);
+        return quote == null ? fallback : quote.closePrice();
+    }
+
+    private PositionSnapshot toPositionSnapshot(
+            long assetId,
+            String symbol,
+            String assetName,
+            BigDecimal quantity,
+            BigDecimal avgCost) {
+        BigDecimal currentPrice = latestCloseOr(assetId, avgCost);
+        BigDecimal pnlRate = avgCost.compareTo(BigDecimal.ZERO) == 0
+                ? BigDecimal.ZERO
+                : currentPrice.subtract(avgCost)
+                        .divide(avgCost, 8, RoundingMode.HALF_UP)
+                        .multiply(BigDecimal.valueOf(100));
+        return new PositionSnapshot(
+                assetId,
+                symbol,
+                assetName,
+                quantity.setScale(6, RoundingMode.HALF_UP),
+                avgCost.setScale(2, RoundingMode.HALF_UP),
+                currentPrice.setScale(2, RoundingMode.HALF_UP),
+                quantity.multiply(currentPrice).setScale(2, RoundingMode.HALF_UP),
+                pnlRate.setScale(2, RoundingMode.HALF_UP));
+    }
+
+    private BigDecimal changeRate(Quote quote) {
+        if (quote == null || quote.openPrice() == null || quote.openPrice().compareTo(BigDecimal.ZERO) == 0) {
+            return BigDecimal.ZERO;
+        }
+        return quote.closePrice().subtract(quote.openPrice())
+                .divide(quote.openPrice(), 8, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100));
+    }
+
+    public record PortfolioAdviceLogCommand(
+            long userId,
+            String adviceHeadline,
+            String riskLevel,
+            BigDecimal sharpeRatio,
+            BigDecimal concentrationPct,
+            LocalDateTime generatedAt) {
+    }
+
+    public record PromptExecutionLogCommand(
+            String promptKey,
+            String promptVersion,
+            Long userId,
+            boolean cacheHit,
+            Integer tokenInCount,
+            Integer tokenOutCount,
+            Integer elapsedMs,
+            String statusCode,
+            String errorMessage,
+            LocalDateTime createdAt) {
     }
 
     public record CandleUpsertCommand(
@@ -1262,18 +1933,28 @@ public class PlatformQueryRepository {
             BigDecimal expenseRatioPct) {
     }
 
-    public record SimulationDailyValuePoint(
-            LocalDate snapshotDate,
-            BigDecimal simulatedValue) {
+    public record BatchCheckpoint(
+            String status,
+            long lastUserId,
+            int processedCount,
+            int failedCount,
+            LocalDateTime startedAt) {
     }
 
-    public record SimulationSnapshotUpsertCommand(
-            LocalDate snapshotDate,
-            BigDecimal simulatedValue,
+    public record PortfolioAdviceSnapshotRow(
+            long inputsVersion,
+            String inputsHash,
+            String adviceJson,
+            LocalDateTime computedAt) {
+    }
+
+    public record SimulationState(
+            String holdingsHash,
+            LocalDate windowStart,
             BigDecimal baseValue,
-            BigDecimal cumulativeReturnPct,
-            BigDecimal dailyReturnPct,
-            BigDecimal drawdownPct) {
+            LocalDate anchorDate,
+            BigDecimal anchorValue,
+            BigDecimal anchorPeakValue) {
     }
 
     public record SimulationSnapshotRow(
@@ -1295,6 +1976,18 @@ public class PlatformQueryRepository {
             BigDecimal pnlRate) {
     }
 
+    private record OpenHoldingRow(long userId, long assetId, BigDecimal quantity) {
+    }
+
+    private record AssetNameRow(long assetId, String symbol, String assetName) {
+    }
+
+    private record HeldPositionRow(long assetId, String symbol, String assetName, BigDecimal quantity, BigDecimal avgCost) {
+    }
+
+    private record DashboardCounters(int watchlistCount, int unreadAlertCount) {
+    }
+
     private record PositionState(BigDecimal quantity, BigDecimal avgCost, BigDecimal realizedPnl) {
     }
 }
@@ -0,0 +1,226 @@
+package com.assetinfo.playasset.api.v1.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository;
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.PortfolioAdviceLogCommand;
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.PromptExecutionLogCommand;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class AuditLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private final PlatformQueryRepository repository;
+    private final ExecutorService virtualThreadExecutor;
+    private final BlockingQueue<Object> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final long offerTimeoutMs;
+    private final long flushIntervalMs;
+    private final int maxBatchRows;
+    private final long shutdownTimeoutMs;
+    private final Counter enqueuedCounter;
+    private final Counter droppedCounter;
+    private final Counter callerWrittenCounter;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Future<?> drainer;
+
+    public AuditLogWriter(
+            PlatformQueryRepository repository,
+            ExecutorService virtualThreadExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.audit.overflow-policy:DROP}") String overflowPolicy,
+            @Value("${app.audit.offer-timeout-ms:50}") long offerTimeoutMs,
+            @Value("${app.audit.flush-interval-ms:500}") long flushIntervalMs,
+            @Value("${app.audit.max-batch-rows:200}") int maxBatchRows,
+            @Value("${app.audit.shutdown-timeout-ms:5000}") long shutdownTimeoutMs) {
+        this.repository = repository;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.queue = new ArrayBlockingQueue<>(Math.max(16, queueCapacity));
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase(Locale.ROOT));
+        this.offerTimeoutMs = Math.max(0, offerTimeoutMs);
+        this.flushIntervalMs = Math.max(10, flushIntervalMs);
+        this.maxBatchRows = Math.max(1, maxBatchRows);
+        this.shutdownTimeoutMs = Math.max(this.flushIntervalMs * 2, shutdownTimeoutMs);
+        this.enqueuedCounter = eventCounter(meterRegistry, "enqueued");
+        this.droppedCounter = eventCounter(meterRegistry, "dropped");
+        this.callerWrittenCounter = eventCounter(meterRegistry, "caller_written");
+        this.writtenCounter = eventCounter(meterRegistry, "written");
+        this.failedCounter = eventCounter(meterRegistry, "failed");
+        Gauge.builder("playasset.audit.queue.size", queue, BlockingQueue::size)
+                .description("Audit log rows waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        drainer = virtualThreadExecutor.submit(this::drainLoop);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (drainer != null) {
+            awaitDrainer();
+        }
+        List<Object> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        flush(remaining);
+    }
+
+    public void submit(PromptExecutionLogCommand command) {
+        enqueue(command);
+    }
+
+    public void submit(PortfolioAdviceLogCommand command) {
+        enqueue(command);
+    }
+
+    private void enqueue(Object command) {
+        boolean accepted;
+        try {
+            accepted = overflowPolicy == OverflowPolicy.BLOCK
+                    ? queue.offer(command, offerTimeoutMs, TimeUnit.MILLISECONDS)
+                    : queue.offer(command);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (accepted) {
+            enqueuedCounter.increment();
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.CALLER_WRITES) {
+            flush(List.of(command));
+            callerWrittenCounter.increment();
+            return;
+        }
+        droppedCounter.increment();
+    }
+
+    private void awaitDrainer() {
+        try {
+            drainer.get(shutdownTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            log.warn("audit log drainer did not finish within {}ms; interrupting", shutdownTimeoutMs);
+            drainer.cancel(true);
+        } catch (ExecutionException ex) {
+            log.warn("audit log drainer failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            drainer.cancel(true);
+        }
+    }
+
+    private void drainLoop() {
+        List<Object> batch = new ArrayList<>(maxBatchRows);
+        while (running) {
+            try {
+                Object first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < maxBatchRows) {
+                    queue.drainTo(batch, maxBatchRows - batch.size());
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchRows || remainingNanos <= 0) {
+                        break;
+                    }
+                    Object next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                flush(batch);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Object> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<PromptExecutionLogCommand> promptLogs = new ArrayList<>();
+        List<PortfolioAdviceLogCommand> adviceLogs = new ArrayList<>();
+        for (Object command : batch) {
+            if (command instanceof PromptExecutionLogCommand promptLog) {
+                promptLogs.add(promptLog);
+            } else if (command instanceof PortfolioAdviceLogCommand adviceLog) {
+                adviceLogs.add(adviceLog);
+            }
+        }
+        write(promptLogs, () -> repository.insertPromptExecutionLogs(promptLogs));
+        write(adviceLogs, () -> repository.insertPortfolioAdviceLogs(adviceLogs));
+    }
+
+    private void write(List<?> rows, Runnable insert) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            insert.run();
+            writtenCounter.increment(rows.size());
+            return;
+        } catch (RuntimeException ex) {
+            log.warn("audit log flush failed, retrying once: rows={}", rows.size(), ex);
+        }
+        try {
+            insert.run();
+            writtenCounter.increment(rows.size());
+        } catch (RuntimeException ex) {
+            failedCounter.increment(rows.size());
+            log.warn("audit log flush failed after retry, dropping rows: rows={}", rows.size(), ex);
+        }
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("playasset.audit.events")
+                .description("Audit log rows by pipeline outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    enum OverflowPolicy {
+        DROP,
+        BLOCK,
+        CALLER_WRITES
+    }
+}
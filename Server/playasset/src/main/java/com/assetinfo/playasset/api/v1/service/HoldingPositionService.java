@@ -33,7 +33,8 @@ public class HoldingPositionService {
         }
 
         repository.upsertPositionByAccount(accountId, assetId, request.quantity(), request.avgCost());
-        cacheEvictService.evictMarketDrivenCaches();
+        repository.bumpAdviceInputsVersion(userId);
+        cacheEvictService.evictUserCaches(userId);
 
         List<PositionSnapshot> positions = repository.loadPositions(userId);
         return positions.stream()
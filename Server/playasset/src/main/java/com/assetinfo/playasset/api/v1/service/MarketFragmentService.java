@@ -0,0 +1,43 @@
+package com.assetinfo.playasset.api.v1.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import com.assetinfo.playasset.api.v1.dto.MoverSnapshot;
+import com.assetinfo.playasset.api.v1.dto.SentimentSnapshot;
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository;
+import com.assetinfo.playasset.config.CacheNames;
+
+@Service
+public class MarketFragmentService {
+
+    private final PlatformQueryRepository repository;
+
+    public MarketFragmentService(PlatformQueryRepository repository) {
+        this.repository = repository;
+    }
+
+    @Cacheable(cacheNames = CacheNames.MARKET_SENTIMENT, key = "'global'")
+    public SentimentSnapshot getSentiment() {
+        return repository.loadSentimentSnapshot();
+    }
+
+    @CachePut(cacheNames = CacheNames.MARKET_SENTIMENT, key = "'global'")
+    public SentimentSnapshot refreshSentiment() {
+        return repository.loadSentimentSnapshot();
+    }
+
+    @Cacheable(cacheNames = CacheNames.TOP_MOVERS, key = "'global'")
+    public List<MoverSnapshot> getTopMovers() {
+        return new ArrayList<>(repository.loadTopMovers());
+    }
+
+    @CachePut(cacheNames = CacheNames.TOP_MOVERS, key = "'global'")
+    public List<MoverSnapshot> refreshTopMovers() {
+        return new ArrayList<>(repository.loadTopMovers());
+    }
+}
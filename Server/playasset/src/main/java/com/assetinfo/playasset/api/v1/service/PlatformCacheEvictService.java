@@ -1,42 +1,160 @@
 package com.assetinfo.playasset.api.v1.service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository;
 import com.assetinfo.playasset.config.CacheNames;
 
 @Service
 public class PlatformCacheEvictService {
 
+    private static final Logger log = LoggerFactory.getLogger(PlatformCacheEvictService.class);
+    private static final List<String> HOLDER_CACHES = List.of(
+            CacheNames.DASHBOARD,
+            CacheNames.POSITIONS);
+    private static final String SIMULATION_KEY_INDEX_PREFIX = "playasset:" + CacheNames.PORTFOLIO_SIMULATION + ":keys:";
+    private static final Duration SIMULATION_KEY_INDEX_TTL = Duration.ofMinutes(15);
+
     private final CacheManager cacheManager;
+    private final PlatformQueryRepository repository;
+    private final StringRedisTemplate redisTemplate;
 
-    public PlatformCacheEvictService(CacheManager cacheManager) {
+    public PlatformCacheEvictService(
+            CacheManager cacheManager,
+            PlatformQueryRepository repository,
+            StringRedisTemplate redisTemplate) {
         this.cacheManager = cacheManager;
+        this.repository = repository;
+        this.redisTemplate = redisTemplate;
     }
 
     public void evictMarketDrivenCaches() {
         clear(CacheNames.DASHBOARD);
         clear(CacheNames.POSITIONS);
         clear(CacheNames.WATCHLIST);
-        clear(CacheNames.PORTFOLIO_ADVICE);
         clear(CacheNames.PORTFOLIO_SIMULATION);
     }
 
+    public MarketEvictionResult evictForChangedAssets(Collection<Long> changedAssetIds) {
+        if (changedAssetIds.isEmpty()) {
+            return new MarketEvictionResult(0, 0, 0);
+        }
+        List<Long> holderIds = repository.findUserIdsHoldingAssets(changedAssetIds);
+        List<Long> watcherIds = repository.findUserIdsWatchingAssets(changedAssetIds);
+
+        int evictedKeys = 0;
+        for (String cacheName : HOLDER_CACHES) {
+            evictedKeys += evictKeys(cacheName, holderIds);
+        }
+        evictedKeys += evictKeys(CacheNames.WATCHLIST, watcherIds);
+        evictedKeys += evictSimulationKeys(new HashSet<>(holderIds));
+
+        Set<Long> affectedUsers = new HashSet<>(holderIds);
+        affectedUsers.addAll(watcherIds);
+        return new MarketEvictionResult(changedAssetIds.size(), affectedUsers.size(), evictedKeys);
+    }
+
+    public int evictUserCaches(long userId) {
+        List<Long> userIds = List.of(userId);
+        int evictedKeys = 0;
+        for (String cacheName : HOLDER_CACHES) {
+            evictedKeys += evictKeys(cacheName, userIds);
+        }
+        evictedKeys += evictKeys(CacheNames.WATCHLIST, userIds);
+        evictedKeys += evictKeys(CacheNames.PORTFOLIO_ADVICE, userIds);
+        evictedKeys += evictSimulationKeys(Set.of(userId));
+        return evictedKeys;
+    }
+
     public void evictNewsDrivenCaches() {
         clear(CacheNames.DASHBOARD);
         clear(CacheNames.ALERTS);
-        clear(CacheNames.PORTFOLIO_ADVICE);
     }
 
     public void evictSimulationCaches() {
         clear(CacheNames.PORTFOLIO_SIMULATION);
     }
 
+    public void evictRuntimeConfigDrivenCaches() {
+        invalidate(CacheNames.PORTFOLIO_ADVICE);
+        invalidate(CacheNames.PORTFOLIO_SIMULATION);
+    }
+
+    public void trackSimulationKey(long userId, String cacheKey) {
+        String indexKey = SIMULATION_KEY_INDEX_PREFIX + userId;
+        try {
+            redisTemplate.opsForSet().add(indexKey, cacheKey);
+            redisTemplate.expire(indexKey, SIMULATION_KEY_INDEX_TTL);
+        } catch (RuntimeException ex) {
+            log.warn("simulation cache key tracking failed: userId={}", userId, ex);
+        }
+    }
+
+    private int evictKeys(String cacheName, Collection<Long> userIds) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return 0;
+        }
+        for (Long userId : userIds) {
+            cache.evict(userId);
+        }
+        return userIds.size();
+    }
+
+    private int evictSimulationKeys(Set<Long> userIds) {
+        Cache cache = cacheManager.getCache(CacheNames.PORTFOLIO_SIMULATION);
+        if (cache == null || userIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> orderedUserIds = new ArrayList<>(userIds);
+        List<Object> trackedKeys = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long userId : orderedUserIds) {
+                connection.setCommands().sMembers((SIMULATION_KEY_INDEX_PREFIX + userId).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        int evicted = 0;
+        for (Object keys : trackedKeys) {
+            if (!(keys instanceof Collection<?> cacheKeys)) {
+                continue;
+            }
+            for (Object cacheKey : cacheKeys) {
+                cache.evict(cacheKey);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
     private void clear(String cacheName) {
         Cache cache = cacheManager.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         }
     }
+
+    private void invalidate(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    public record MarketEvictionResult(int changedAssets, int affectedUsers, int evictedKeys) {
+    }
 }
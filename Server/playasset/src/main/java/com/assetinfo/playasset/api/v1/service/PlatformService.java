@@ -1,5 +1,7 @@
 package com.assetinfo.playasset.api.v1.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
@@ -10,13 +12,26 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.assetinfo.playasset.analytics.HoldingVector;
+import com.assetinfo.playasset.analytics.LttbDownsampler;
+import com.assetinfo.playasset.analytics.PortfolioStatsAccumulator;
+import com.assetinfo.playasset.analytics.PriceMatrix;
+import com.assetinfo.playasset.analytics.SimulationKernel;
+import com.assetinfo.playasset.analytics.SimulationResolution;
+import com.assetinfo.playasset.analytics.SimulationSeries;
 import com.assetinfo.playasset.api.v1.auth.Authz;
 import com.assetinfo.playasset.api.v1.dto.AdviceMetricsSnapshot;
 import com.assetinfo.playasset.api.v1.dto.AlertPreferenceResponse;
@@ -40,50 +55,93 @@ import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository;
 import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.DailyPortfolioValuePoint;
 import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.EtfCatalogRow;
 import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.InvestmentProfileRow;
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.PortfolioAdviceSnapshotRow;
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.PortfolioAdviceLogCommand;
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.PromptExecutionLogCommand;
 import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.PromptTemplateRow;
-import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.SimulationDailyValuePoint;
 import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.SimulationPositionContributionRow;
 import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.SimulationSnapshotRow;
-import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.SimulationSnapshotUpsertCommand;
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.SimulationState;
+import com.assetinfo.playasset.api.v1.service.PromptPayloadEncoder.PromptPayload;
 import com.assetinfo.playasset.config.CacheNames;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
 public class PlatformService {
 
+    private static final int SIMULATION_WINDOW_DRIFT_DAYS = 30;
+    private static final int SIMULATION_MAX_POINTS = 5000;
+    private static final int ADVICE_LOOKBACK_DAYS = 180;
+
     private final PlatformQueryRepository repository;
     private final PromptCachingService promptCachingService;
     private final RuntimeConfigService runtimeConfigService;
     private final ObjectMapper objectMapper;
+    private final MarketFragmentService marketFragmentService;
+    private final PromptPayloadEncoder promptPayloadEncoder;
+    private final AuditLogWriter auditLogWriter;
+    private final PlatformCacheEvictService cacheEvictService;
+    private volatile String adviceReferenceVersion;
 
     public PlatformService(
             PlatformQueryRepository repository,
             PromptCachingService promptCachingService,
             RuntimeConfigService runtimeConfigService,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            MarketFragmentService marketFragmentService,
+            PromptPayloadEncoder promptPayloadEncoder,
+            AuditLogWriter auditLogWriter,
+            PlatformCacheEvictService cacheEvictService) {
         this.repository = repository;
         this.promptCachingService = promptCachingService;
         this.runtimeConfigService = runtimeConfigService;
         this.objectMapper = objectMapper;
+        this.marketFragmentService = marketFragmentService;
+        this.promptPayloadEncoder = promptPayloadEncoder;
+        this.auditLogWriter = auditLogWriter;
+        this.cacheEvictService = cacheEvictService;
     }
 
-    @Cacheable(cacheNames = CacheNames.DASHBOARD, key = "#userId")
+    @Cacheable(cacheNames = CacheNames.DASHBOARD, key = "#userId", sync = true)
     public DashboardResponse getDashboard(long userId) {
-        return repository.loadDashboard(userId);
+        return repository.loadDashboard(
+                userId,
+                marketFragmentService::getSentiment,
+                marketFragmentService::getTopMovers);
+    }
+
+    @CachePut(cacheNames = CacheNames.DASHBOARD, key = "#userId")
+    public DashboardResponse refreshDashboard(long userId) {
+        return repository.loadDashboard(
+                userId,
+                marketFragmentService::getSentiment,
+                marketFragmentService::getTopMovers);
     }
 
-    @Cacheable(cacheNames = CacheNames.POSITIONS, key = "#userId")
+    @Cacheable(cacheNames = CacheNames.POSITIONS, key = "#userId", sync = true)
     public List<PositionSnapshot> getPositions(long userId) {
         return repository.loadPositions(userId);
     }
 
-    @Cacheable(cacheNames = CacheNames.WATCHLIST, key = "#userId")
+    @CachePut(cacheNames = CacheNames.POSITIONS, key = "#userId")
+    public List<PositionSnapshot> refreshPositions(long userId) {
+        return repository.loadPositions(userId);
+    }
+
+    @Cacheable(cacheNames = CacheNames.WATCHLIST, key = "#userId", sync = true)
     public List<WatchlistItemResponse> getWatchlist(long userId) {
         return repository.loadDefaultWatchlist(userId);
     }
 
+    @CachePut(cacheNames = CacheNames.WATCHLIST, key = "#userId")
+    public List<WatchlistItemResponse> refreshWatchlist(long userId) {
+        return repository.loadDefaultWatchlist(userId);
+    }
+
     @Cacheable(cacheNames = CacheNames.ALERTS, key = "#userId + ':' + #limit")
     public List<AlertResponse> getAlerts(long userId, int limit) {
         return repository.loadRecentAlerts(userId, limit);
@@ -141,6 +199,7 @@ public class PlatformService {
                 request.targetAllocationHint().trim(),
                 answersJson,
                 updatedBy == null || updatedBy.isBlank() ? "SYSTEM" : updatedBy);
+        repository.bumpAdviceInputsVersion(userId);
         return getInvestmentProfile(userId);
     }
 
@@ -151,11 +210,69 @@ public class PlatformService {
     @Transactional
     public boolean deleteInvestmentProfile(long userId) {
         repository.deleteInvestmentProfile(userId);
+        repository.bumpAdviceInputsVersion(userId);
         return true;
     }
 
-    @Cacheable(cacheNames = CacheNames.PORTFOLIO_ADVICE, key = "#userId")
+    @Cacheable(cacheNames = CacheNames.PORTFOLIO_ADVICE, key = "#userId", sync = true)
     public PortfolioAdviceResponse getPortfolioAdvice(long userId) {
+        PortfolioAdviceSnapshotRow snapshot = repository.findPortfolioAdviceSnapshot(userId);
+        String inputsHash = adviceInputsHash(snapshot.inputsVersion());
+        int maxAgeHours = runtimeConfigService.getInt(RuntimeConfigService.GROUP_BATCH_RULE, "advice.snapshot_max_age_hours", 24);
+        if (snapshot.adviceJson() != null
+                && inputsHash.equals(snapshot.inputsHash())
+                && snapshot.computedAt().isAfter(LocalDateTime.now().minusHours(maxAgeHours))) {
+            PortfolioAdviceResponse advice = readAdviceJson(snapshot.adviceJson());
+            if (advice != null) {
+                return advice;
+            }
+        }
+        return computeAndStorePortfolioAdvice(userId, inputsHash, true);
+    }
+
+    @CachePut(cacheNames = CacheNames.PORTFOLIO_ADVICE, key = "#userId")
+    public PortfolioAdviceResponse refreshPortfolioAdvice(long userId) {
+        return computeAndStorePortfolioAdvice(userId, adviceInputsHash(repository.findAdviceInputsVersion(userId)), false);
+    }
+
+    private PortfolioAdviceResponse computeAndStorePortfolioAdvice(long userId, String inputsHash, boolean userRequest) {
+        PortfolioAdviceResponse advice = computePortfolioAdvice(userId, userRequest);
+        try {
+            repository.upsertPortfolioAdviceSnapshot(userId, inputsHash, objectMapper.writeValueAsString(advice), LocalDateTime.now());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return advice;
+    }
+
+    private String adviceInputsHash(long inputsVersion) {
+        return ContentHashes.sha256Hex(String.join("\n",
+                Long.toString(inputsVersion),
+                adviceReferenceVersion(),
+                runtimeConfigService.snapshot(RuntimeConfigService.GROUP_ADVISOR_RULE).contentHash(),
+                runtimeConfigService.snapshot(RuntimeConfigService.GROUP_ADVISOR_MESSAGE).contentHash()));
+    }
+
+    private String adviceReferenceVersion() {
+        String version = adviceReferenceVersion;
+        if (version == null) {
+            PromptTemplateRow promptTemplate = repository.loadPromptTemplate("PORTFOLIO_ADVICE");
+            version = repository.findAdvisorEtfCatalogVersion()
+                    + "|" + (promptTemplate == null ? "-" : promptTemplate.promptVersion());
+            adviceReferenceVersion = version;
+        }
+        return version;
+    }
+
+    private PortfolioAdviceResponse readAdviceJson(String adviceJson) {
+        try {
+            return objectMapper.readValue(adviceJson, PortfolioAdviceResponse.class);
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    private PortfolioAdviceResponse computePortfolioAdvice(long userId, boolean userRequest) {
         List<PositionSnapshot> positions = repository.loadPositions(userId);
         if (positions.isEmpty()) {
             return normalizePortfolioAdviceTone(emptyAdvice(userId));
@@ -171,7 +288,7 @@ public class PlatformService {
 
         double concentrationPct = computeConcentrationPct(positions, totalValue);
         double diversificationScore = computeDiversificationScore(positions, totalValue);
-        List<DailyPortfolioValuePoint> dailyValues = repository.loadPortfolioDailyValues(userId, 180);
+        List<DailyPortfolioValuePoint> dailyValues = loadAdviceDailyValues(userId, positions, ADVICE_LOOKBACK_DAYS);
 
         AnalyticsMetrics metrics = computeAnalyticsMetrics(
                 positions,
@@ -199,8 +316,7 @@ public class PlatformService {
                 ? "You are a portfolio advisory model. Use profile+metrics+positions to produce structured rebalancing and ETF recommendations. Response language must be Korean. Use casual polite Korean tone ending with '~요' for every human-readable sentence. Never use formal '-습니다' style. Return strict JSON only."
                 : promptTemplate.promptTemplate();
         promptCachingService.cachePromptTemplate("PORTFOLIO_ADVICE", promptVersion, promptBody);
-        String payloadJson = buildAdvicePromptPayloadJson(
-                userId,
+        PromptPayload payload = buildAdvicePromptPayload(
                 investmentProfile,
                 metrics,
                 positions,
@@ -208,25 +324,28 @@ public class PlatformService {
                 etfRecommendations,
                 maxActionCount,
                 maxEtfCount);
-        String cacheKey = "portfolio_advice:" + userId + ":" + promptVersion + ":" + LocalDate.now();
-        promptCachingService.cachePromptPayload(cacheKey, payloadJson);
-        repository.insertPromptExecutionLog(
-                "PORTFOLIO_ADVICE",
-                promptVersion,
-                userId,
-                true,
-                null,
-                null,
-                null,
-                "CACHED",
-                null);
-        repository.insertPortfolioAdviceLog(
+        String cacheKey = "portfolio_advice:" + promptVersion + ":" + payload.contentHash();
+        promptCachingService.cachePromptPayload(cacheKey, payload.json());
+        if (userRequest) {
+            auditLogWriter.submit(new PromptExecutionLogCommand(
+                    "PORTFOLIO_ADVICE",
+                    promptVersion,
+                    userId,
+                    true,
+                    null,
+                    null,
+                    null,
+                    "CACHED",
+                    null,
+                    LocalDateTime.now()));
+        }
+        auditLogWriter.submit(new PortfolioAdviceLogCommand(
                 userId,
                 insight.headline(),
                 metrics.riskLevel(),
                 metrics.sharpeRatio(),
                 metrics.concentrationPct(),
-                LocalDateTime.now());
+                LocalDateTime.now()));
 
         AdviceMetricsSnapshot metricsSnapshot = new AdviceMetricsSnapshot(
                 userId,
@@ -243,8 +362,7 @@ public class PlatformService {
         return normalizePortfolioAdviceTone(new PortfolioAdviceResponse(metricsSnapshot, actions, etfRecommendations, insight));
     }
 
-    private String buildAdvicePromptPayloadJson(
-            long userId,
+    private PromptPayload buildAdvicePromptPayload(
             InvestmentProfileResponse investmentProfile,
             AnalyticsMetrics metrics,
             List<PositionSnapshot> positions,
@@ -252,85 +370,82 @@ public class PlatformService {
             List<EtfRecommendationSnapshot> etfRecommendations,
             int maxActionCount,
             int maxEtfCount) {
-        StringBuilder sb = new StringBuilder(1024);
-        sb.append("{");
-        sb.append("\"userId\":").append(userId).append(",");
-        sb.append("\"riskProfile\":{")
-                .append("\"profileKey\":\"")
-                .append(escapeJson(investmentProfile == null ? "UNKNOWN" : investmentProfile.profileKey()))
-                .append("\",")
-                .append("\"profileName\":\"")
-                .append(escapeJson(investmentProfile == null ? "UNSET" : investmentProfile.profileName()))
-                .append("\",")
-                .append("\"riskTier\":")
-                .append(investmentProfile == null ? 0 : investmentProfile.riskTier())
-                .append(",\"score\":")
-                .append(investmentProfile == null ? 0 : investmentProfile.score())
-                .append(",\"answers\":")
-                .append(writeAnswersJson(investmentProfile == null ? Map.of() : investmentProfile.answers()))
-                .append("},");
-        sb.append("\"riskLevel\":\"").append(escapeJson(metrics.riskLevel())).append("\",");
-        sb.append("\"metrics\":{")
-                .append("\"expectedAnnualReturnPct\":").append(metrics.expectedAnnualReturnPct())
-                .append(",\"annualVolatilityPct\":").append(metrics.annualVolatilityPct())
-                .append(",\"sharpeRatio\":").append(metrics.sharpeRatio())
-                .append(",\"maxDrawdownPct\":").append(metrics.maxDrawdownPct())
-                .append(",\"concentrationPct\":").append(metrics.concentrationPct())
-                .append(",\"diversificationScore\":").append(metrics.diversificationScore())
-                .append("},");
-        sb.append("\"positions\":[");
-        for (int i = 0; i < positions.size(); i++) {
-            PositionSnapshot position = positions.get(i);
-            if (i > 0) {
-                sb.append(",");
+        return promptPayloadEncoder.encode(json -> {
+            json.writeStartObject();
+            json.writeObjectFieldStart("riskProfile");
+            json.writeStringField("profileKey", investmentProfile == null ? "UNKNOWN" : investmentProfile.profileKey());
+            json.writeStringField("profileName", investmentProfile == null ? "UNSET" : investmentProfile.profileName());
+            json.writeNumberField("riskTier", investmentProfile == null ? 0 : investmentProfile.riskTier());
+            json.writeNumberField("score", investmentProfile == null ? 0 : investmentProfile.score());
+            json.writeObjectFieldStart("answers");
+            Map<String, Integer> answers = investmentProfile == null || investmentProfile.answers() == null
+                    ? Map.of()
+                    : investmentProfile.answers();
+            for (Map.Entry<String, Integer> answer : new TreeMap<>(answers).entrySet()) {
+                json.writeFieldName(answer.getKey());
+                if (answer.getValue() == null) {
+                    json.writeNull();
+                } else {
+                    json.writeNumber(answer.getValue());
+                }
             }
-            sb.append("{")
-                    .append("\"symbol\":\"").append(escapeJson(position.symbol())).append("\",")
-                    .append("\"assetName\":\"").append(escapeJson(position.assetName())).append("\",")
-                    .append("\"valuation\":").append(position.valuation()).append(",")
-                    .append("\"pnlRate\":").append(position.pnlRate())
-                    .append("}");
-        }
-        sb.append("],");
-        sb.append("\"rebalancingActions\":[");
-        for (int i = 0; i < actions.size(); i++) {
-            RebalancingActionSnapshot action = actions.get(i);
-            if (i > 0) {
-                sb.append(",");
+            json.writeEndObject();
+            json.writeEndObject();
+
+            json.writeStringField("riskLevel", metrics.riskLevel());
+            json.writeObjectFieldStart("metrics");
+            json.writeNumberField("expectedAnnualReturnPct", metrics.expectedAnnualReturnPct());
+            json.writeNumberField("annualVolatilityPct", metrics.annualVolatilityPct());
+            json.writeNumberField("sharpeRatio", metrics.sharpeRatio());
+            json.writeNumberField("maxDrawdownPct", metrics.maxDrawdownPct());
+            json.writeNumberField("concentrationPct", metrics.concentrationPct());
+            json.writeNumberField("diversificationScore", metrics.diversificationScore());
+            json.writeEndObject();
+
+            json.writeArrayFieldStart("positions");
+            for (PositionSnapshot position : positions) {
+                json.writeStartObject();
+                json.writeStringField("symbol", position.symbol());
+                json.writeStringField("assetName", position.assetName());
+                json.writeNumberField("valuation", position.valuation());
+                json.writeNumberField("pnlRate", position.pnlRate());
+                json.writeEndObject();
             }
-            sb.append("{")
-                    .append("\"symbol\":\"").append(escapeJson(action.symbol())).append("\",")
-                    .append("\"action\":\"").append(escapeJson(action.action())).append("\",")
-                    .append("\"gapPct\":").append(action.gapPct()).append(",")
-                    .append("\"suggestedAmount\":").append(action.suggestedAmount()).append(",")
-                    .append("\"priority\":").append(action.priority())
-                    .append("}");
-        }
-        sb.append("],");
-        sb.append("\"etfRecommendations\":[");
-        for (int i = 0; i < etfRecommendations.size(); i++) {
-            EtfRecommendationSnapshot etf = etfRecommendations.get(i);
-            if (i > 0) {
-                sb.append(",");
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("rebalancingActions");
+            for (RebalancingActionSnapshot action : actions) {
+                json.writeStartObject();
+                json.writeStringField("symbol", action.symbol());
+                json.writeStringField("action", action.action());
+                json.writeNumberField("gapPct", action.gapPct());
+                json.writeNumberField("suggestedAmount", action.suggestedAmount());
+                json.writeNumberField("priority", action.priority());
+                json.writeEndObject();
             }
-            sb.append("{")
-                    .append("\"symbol\":\"").append(escapeJson(etf.symbol())).append("\",")
-                    .append("\"riskBucket\":\"").append(escapeJson(etf.riskBucket())).append("\",")
-                    .append("\"suggestedWeightPct\":").append(etf.suggestedWeightPct()).append(",")
-                    .append("\"matchScore\":").append(etf.matchScore())
-                    .append("}");
-        }
-        sb.append("],");
-        sb.append("\"constraints\":{")
-                .append("\"maxActions\":").append(maxActionCount).append(",")
-                .append("\"maxEtfCandidates\":").append(maxEtfCount).append(",")
-                .append("\"language\":\"ko-KR\",")
-                .append("\"tone\":\"casual-polite\",")
-                .append("\"sentenceEnding\":\"~요\",")
-                .append("\"disallowFormalEnding\":\"-습니다\"")
-                .append("}");
-        sb.append("}");
-        return sb.toString();
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("etfRecommendations");
+            for (EtfRecommendationSnapshot etf : etfRecommendations) {
+                json.writeStartObject();
+                json.writeStringField("symbol", etf.symbol());
+                json.writeStringField("riskBucket", etf.riskBucket());
+                json.writeNumberField("suggestedWeightPct", etf.suggestedWeightPct());
+                json.writeNumberField("matchScore", etf.matchScore());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+
+            json.writeObjectFieldStart("constraints");
+            json.writeNumberField("maxActions", maxActionCount);
+            json.writeNumberField("maxEtfCandidates", maxEtfCount);
+            json.writeStringField("language", "ko-KR");
+            json.writeStringField("tone", "casual-polite");
+            json.writeStringField("sentenceEnding", "~요");
+            json.writeStringField("disallowFormalEnding", "-습니다");
+            json.writeEndObject();
+            json.writeEndObject();
+        });
     }
 
     private PortfolioAdviceResponse normalizePortfolioAdviceTone(PortfolioAdviceResponse advice) {
@@ -375,87 +490,36 @@ public class PlatformService {
     }
 
     private String toYoTone(String text) {
-        if (text == null) {
-            return "";
-        }
-        String normalized = text.trim();
-        if (normalized.isEmpty()) {
-            return normalized;
-        }
-
-        normalized = normalized
-                .replace("있습니다.", "있어요.")
-                .replace("없습니다.", "없어요.")
-                .replace("필요합니다.", "필요해요.")
-                .replace("권장합니다.", "권장해요.")
-                .replace("주의합니다.", "주의해요.")
-                .replace("유지합니다.", "유지해요.")
-                .replace("진행합니다.", "진행해요.")
-                .replace("가능합니다.", "가능해요.")
-                .replace("됩니다.", "돼요.")
-                .replace("입니다.", "이에요.")
-                .replace("합니다.", "해요.")
-                .replace("있습니다", "있어요")
-                .replace("없습니다", "없어요")
-                .replace("필요합니다", "필요해요")
-                .replace("권장합니다", "권장해요")
-                .replace("주의합니다", "주의해요")
-                .replace("유지합니다", "유지해요")
-                .replace("진행합니다", "진행해요")
-                .replace("가능합니다", "가능해요")
-                .replace("됩니다", "돼요")
-                .replace("입니다", "이에요")
-                .replace("합니다", "해요");
-
-        if (normalized.endsWith("다.")) {
-            normalized = normalized.substring(0, normalized.length() - 2) + "요.";
-        } else if (normalized.endsWith("다")) {
-            normalized = normalized.substring(0, normalized.length() - 1) + "요";
-        }
-
-        if (!(normalized.endsWith(".") || normalized.endsWith("!") || normalized.endsWith("?"))) {
-            if (normalized.endsWith("요")) {
-                return normalized + ".";
-            }
-            if (normalized.matches(".*[가-힣]$")) {
-                return normalized + "요.";
-            }
-        }
-        return normalized;
+        return runtimeConfigService.snapshot(RuntimeConfigService.GROUP_ADVISOR_MESSAGE)
+                .derive("tone.normalizer", ToneNormalizer::fromConfig)
+                .normalize(text);
     }
 
-    private String escapeJson(String value) {
-        if (value == null) {
-            return "";
-        }
-        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    public static String simulationCacheKey(long userId, String startDateText, String endDateText, Integer maxPoints) {
+        return userId + ":" + (startDateText == null ? "" : startDateText)
+                + ":" + (endDateText == null ? "" : endDateText)
+                + ":" + (maxPoints == null ? "" : maxPoints);
     }
 
     @Cacheable(
             cacheNames = CacheNames.PORTFOLIO_SIMULATION,
-            key = "#userId + ':' + (#startDateText == null ? '' : #startDateText) + ':' + (#endDateText == null ? '' : #endDateText)")
-    public PortfolioSimulationResponse getPortfolioSimulation(long userId, String startDateText, String endDateText) {
-        LocalDate today = LocalDate.now();
-        LocalDate endDate = parseDate(endDateText, today);
-        if (endDate.isAfter(today)) {
-            endDate = today;
-        }
-
-        LocalDate defaultStart = repository.findDefaultSimulationStartDate(userId);
-        if (defaultStart == null) {
-            defaultStart = endDate.minusMonths(6);
-        }
-        LocalDate startDate = parseDate(startDateText, defaultStart);
-        if (startDate.isAfter(endDate)) {
-            throw new IllegalArgumentException(simulationMessage("simulation.error.invalid_date_range", "시작일은 기준일보다 이후일 수 없어요."));
-        }
-
-        int lookbackDays = Math.max(120, (int) ChronoUnit.DAYS.between(startDate, endDate) + 14);
-        rebuildSimulationCacheForUser(userId, lookbackDays);
-
-        List<SimulationSnapshotRow> rows = repository.loadSimulationSnapshots(userId, startDate, endDate);
+            key = "T(com.assetinfo.playasset.api.v1.service.PlatformService).simulationCacheKey(#userId, #startDateText, #endDateText, #maxPoints)",
+            sync = true)
+    public PortfolioSimulationResponse getPortfolioSimulation(
+            long userId,
+            String startDateText,
+            String endDateText,
+            Integer maxPoints) {
+        validateMaxPoints(maxPoints);
+        cacheEvictService.trackSimulationKey(userId, simulationCacheKey(userId, startDateText, endDateText, maxPoints));
+        SimulationRange range = resolveSimulationRange(userId, startDateText, endDateText);
+        LocalDate startDate = range.startDate();
+        LocalDate endDate = range.endDate();
+        SimulationResolution resolution = SimulationResolution.forMaxPoints(startDate, endDate, maxPoints);
+        SimulationTimeline loaded = loadSimulationTimeline(userId, range, resolution, maxPoints);
+        List<SimulationSnapshotRow> rows = loaded.rows();
         if (rows.isEmpty()) {
-            return emptySimulation(userId, startDate, endDate);
+            return emptySimulation(userId, startDate, endDate, resolution);
         }
 
         BigDecimal startValue = rows.get(0).simulatedValue().setScale(2, RoundingMode.HALF_UP);
@@ -467,11 +531,7 @@ public class PlatformService {
         BigDecimal annualizedReturnPct = dayGap < 90
                 ? pnlRate
                 : annualizedReturn(startValue, endValue, dayGap).setScale(2, RoundingMode.HALF_UP);
-        BigDecimal maxDrawdownPct = rows.stream()
-                .map(SimulationSnapshotRow::drawdownPct)
-                .max(Comparator.naturalOrder())
-                .orElse(BigDecimal.ZERO)
-                .setScale(2, RoundingMode.HALF_UP);
+        BigDecimal maxDrawdownPct = loaded.maxDrawdownPct().setScale(2, RoundingMode.HALF_UP);
 
         List<SimulationPointSnapshot> timeline = rows.stream()
                 .map(row -> new SimulationPointSnapshot(
@@ -508,7 +568,7 @@ public class PlatformService {
                 userId,
                 rows.get(0).snapshotDate().toString(),
                 rows.get(rows.size() - 1).snapshotDate().toString(),
-                rows.size(),
+                loaded.dayCount(),
                 startValue,
                 endValue,
                 pnlAmount,
@@ -517,58 +577,264 @@ public class PlatformService {
                 maxDrawdownPct,
                 timeline,
                 contributions,
-                notes);
+                notes,
+                resolution.name());
     }
 
     @Transactional
     public int rebuildSimulationCacheForUser(long userId, int lookbackDays) {
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusDays(Math.max(lookbackDays, 30));
+        return rebuildSimulationCache(
+                userId,
+                lookbackDays,
+                repository.findHoldingsFingerprint(userId),
+                (startDate, endDate) -> repository.loadCurrentPortfolioHistoricalSeries(userId, startDate, endDate));
+    }
 
-        LocalDate buyStart = repository.findDefaultSimulationStartDate(userId);
-        if (buyStart != null && buyStart.isAfter(startDate)) {
-            startDate = buyStart;
+    @Transactional
+    public int rebuildSimulationCacheForUser(long userId, int lookbackDays, PriceMatrix prices, HoldingVector holdings) {
+        return rebuildSimulationCache(
+                userId,
+                lookbackDays,
+                holdings.fingerprint(),
+                (startDate, endDate) -> prices.covers(startDate, endDate)
+                        ? prices.valueSeries(holdings, startDate, endDate)
+                        : repository.loadCurrentPortfolioHistoricalSeries(userId, startDate, endDate));
+    }
+
+    private int rebuildSimulationCache(
+            long userId,
+            int lookbackDays,
+            String holdingsHash,
+            BiFunction<LocalDate, LocalDate, SimulationSeries> seriesLoader) {
+        LocalDate today = LocalDate.now();
+        LocalDate windowStart = simulationWindowStart(userId, lookbackDays);
+        SimulationState state = repository.findSimulationState(userId);
+        boolean incremental = state != null
+                && state.anchorDate() != null
+                && state.holdingsHash().equals(holdingsHash)
+                && !windowStart.isBefore(state.windowStart())
+                && ChronoUnit.DAYS.between(state.windowStart(), windowStart) <= SIMULATION_WINDOW_DRIFT_DAYS;
+
+        if (incremental) {
+            SimulationSeries series = seriesLoader.apply(state.anchorDate().plusDays(1), today);
+            double baseValue = state.baseValue().doubleValue();
+            SimulationKernel.compute(
+                    series,
+                    baseValue,
+                    state.anchorPeakValue().doubleValue(),
+                    state.anchorValue().doubleValue());
+            repository.batchUpsertSimulationSnapshots(userId, series, baseValue);
+            repository.upsertSimulationState(userId, advanceSimulationAnchor(state, series, today), false);
+            return series.size();
         }
 
-        List<SimulationDailyValuePoint> values = repository.loadCurrentPortfolioHistoricalValues(userId, startDate, endDate);
-        if (values.isEmpty()) {
+        SimulationSeries series = seriesLoader.apply(windowStart, today);
+        repository.deleteSimulationHistory(userId);
+        if (series.isEmpty()) {
             return 0;
         }
 
-        BigDecimal baseValue = values.get(0).simulatedValue().setScale(6, RoundingMode.HALF_UP);
-        BigDecimal peakValue = baseValue;
-        BigDecimal prevValue = null;
-        List<SimulationSnapshotUpsertCommand> commands = new ArrayList<>();
+        double baseValue = series.value(0);
+        SimulationKernel.compute(series, baseValue, baseValue, Double.NaN);
+        repository.batchUpsertSimulationSnapshots(userId, series, baseValue);
+        BigDecimal base = BigDecimal.valueOf(baseValue).setScale(6, RoundingMode.HALF_UP);
+        SimulationState rebuilt = new SimulationState(holdingsHash, windowStart, base, null, null, base);
+        repository.upsertSimulationState(userId, advanceSimulationAnchor(rebuilt, series, today), true);
+        return series.size();
+    }
 
-        for (SimulationDailyValuePoint point : values) {
-            BigDecimal currentValue = point.simulatedValue().setScale(6, RoundingMode.HALF_UP);
-            if (currentValue.compareTo(peakValue) > 0) {
-                peakValue = currentValue;
+    public StreamingResponseBody streamPortfolioSimulation(
+            long userId,
+            String startDateText,
+            String endDateText,
+            Integer maxPoints) {
+        validateMaxPoints(maxPoints);
+        SimulationRange range = resolveSimulationRange(userId, startDateText, endDateText);
+        List<SimulationSnapshotRow> rows = SimulationRebaser.rebase(
+                loadSimulationRows(userId, range.startDate(), range.endDate(), range.lookbackDays()));
+        return out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            Consumer<SimulationSnapshotRow> writer = row -> {
+                try {
+                    generator.writeObject(new SimulationPointSnapshot(
+                            row.snapshotDate().toString(),
+                            row.simulatedValue().setScale(2, RoundingMode.HALF_UP),
+                            row.cumulativeReturnPct().setScale(2, RoundingMode.HALF_UP),
+                            row.drawdownPct().setScale(2, RoundingMode.HALF_UP)));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            };
+            if (maxPoints == null) {
+                rows.forEach(writer);
+            } else {
+                LttbDownsampler<SimulationSnapshotRow> downsampler = new LttbDownsampler<>(
+                        (int) range.startDate().toEpochDay(),
+                        (int) range.endDate().toEpochDay(),
+                        maxPoints,
+                        writer);
+                for (SimulationSnapshotRow row : rows) {
+                    downsampler.accept((int) row.snapshotDate().toEpochDay(), row.simulatedValue().doubleValue(), row);
+                }
+                downsampler.finish();
             }
+            generator.writeRaw('\n');
+            generator.flush();
+        };
+    }
 
-            BigDecimal cumulativeReturnPct = ratioPercent(baseValue, currentValue).setScale(6, RoundingMode.HALF_UP);
-            BigDecimal dailyReturnPct = prevValue == null
-                    ? BigDecimal.ZERO.setScale(6, RoundingMode.HALF_UP)
-                    : ratioPercent(prevValue, currentValue).setScale(6, RoundingMode.HALF_UP);
-            BigDecimal drawdownPct = peakValue.compareTo(BigDecimal.ZERO) == 0
-                    ? BigDecimal.ZERO.setScale(6, RoundingMode.HALF_UP)
-                    : peakValue.subtract(currentValue)
-                            .divide(peakValue, 8, RoundingMode.HALF_UP)
-                            .multiply(BigDecimal.valueOf(100))
-                            .setScale(6, RoundingMode.HALF_UP);
-
-            commands.add(new SimulationSnapshotUpsertCommand(
-                    point.snapshotDate(),
-                    currentValue,
-                    baseValue,
-                    cumulativeReturnPct,
-                    dailyReturnPct,
-                    drawdownPct));
-            prevValue = currentValue;
+    private void validateMaxPoints(Integer maxPoints) {
+        if (maxPoints != null && (maxPoints < 3 || maxPoints > SIMULATION_MAX_POINTS)) {
+            throw new IllegalArgumentException(simulationMessage("simulation.error.invalid_max_points", "maxPoints는 3에서 5000 사이로 입력해 주세요."));
+        }
+    }
+
+    private SimulationRange resolveSimulationRange(long userId, String startDateText, String endDateText) {
+        LocalDate today = LocalDate.now();
+        LocalDate endDate = parseDate(endDateText, today);
+        if (endDate.isAfter(today)) {
+            endDate = today;
+        }
+
+        LocalDate defaultStart = repository.findDefaultSimulationStartDate(userId);
+        if (defaultStart == null) {
+            defaultStart = endDate.minusMonths(6);
+        }
+        LocalDate startDate = parseDate(startDateText, defaultStart);
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException(simulationMessage("simulation.error.invalid_date_range", "시작일은 기준일보다 이후일 수 없어요."));
+        }
+
+        int lookbackDays = Math.max(120, (int) ChronoUnit.DAYS.between(startDate, endDate) + 14);
+        return new SimulationRange(startDate, endDate, lookbackDays);
+    }
+
+    private SimulationTimeline loadSimulationTimeline(
+            long userId,
+            SimulationRange range,
+            SimulationResolution resolution,
+            Integer maxPoints) {
+        List<SimulationSnapshotRow> rows = SimulationRebaser.rebase(
+                loadSimulationRows(userId, range.startDate(), range.endDate(), range.lookbackDays()));
+        BigDecimal maxDrawdownPct = rows.stream()
+                .map(SimulationSnapshotRow::drawdownPct)
+                .max(Comparator.naturalOrder())
+                .orElse(BigDecimal.ZERO);
+        return new SimulationTimeline(
+                SimulationRollup.rollUp(rows, resolution, range.startDate(), range.endDate(), maxPoints),
+                rows.size(),
+                maxDrawdownPct);
+    }
+
+    private boolean isSimulationStateUsable(SimulationState state, LocalDate startDate, Supplier<String> holdingsHash) {
+        return state != null
+                && state.anchorDate() != null
+                && !startDate.isBefore(state.windowStart())
+                && state.holdingsHash().equals(holdingsHash.get());
+    }
+
+    private List<DailyPortfolioValuePoint> loadAdviceDailyValues(
+            long userId,
+            List<PositionSnapshot> positions,
+            int lookbackDays) {
+        LocalDate today = LocalDate.now();
+        LocalDate startDate = today.minusDays(lookbackDays);
+        SimulationState state = repository.findSimulationState(userId);
+        if (state != null && startDate.isBefore(state.windowStart())) {
+            startDate = state.windowStart();
+        }
+        if (!isSimulationStateUsable(state, startDate, () -> PlatformQueryRepository.holdingsFingerprint(positions))) {
+            return repository.loadPortfolioDailyValues(userId, lookbackDays);
         }
+        LocalDate persistedEnd = today.isBefore(state.anchorDate()) ? today : state.anchorDate();
+        List<DailyPortfolioValuePoint> values = new ArrayList<>(
+                repository.loadSimulatedDailyValues(userId, startDate, persistedEnd));
+        if (today.isAfter(state.anchorDate())) {
+            List<SimulationSnapshotRow> tail = new ArrayList<>();
+            appendSimulationTail(tail, userId, state, startDate, today);
+            tail.forEach(row -> values.add(new DailyPortfolioValuePoint(row.snapshotDate(), row.simulatedValue())));
+        }
+        return values;
+    }
 
-        repository.batchUpsertSimulationSnapshots(userId, commands);
-        return commands.size();
+    private void appendSimulationTail(
+            List<SimulationSnapshotRow> rows,
+            long userId,
+            SimulationState state,
+            LocalDate startDate,
+            LocalDate endDate) {
+        SimulationSeries tail = repository.loadCurrentPortfolioHistoricalSeries(
+                userId,
+                state.anchorDate().plusDays(1),
+                endDate);
+        SimulationKernel.compute(
+                tail,
+                state.baseValue().doubleValue(),
+                state.anchorPeakValue().doubleValue(),
+                state.anchorValue().doubleValue());
+        appendSimulationRows(rows, tail, startDate);
+    }
+
+    private List<SimulationSnapshotRow> loadSimulationRows(
+            long userId,
+            LocalDate startDate,
+            LocalDate endDate,
+            int lookbackDays) {
+        SimulationState state = repository.findSimulationState(userId);
+        if (isSimulationStateUsable(state, startDate, () -> repository.findHoldingsFingerprint(userId))) {
+            LocalDate persistedEnd = endDate.isBefore(state.anchorDate()) ? endDate : state.anchorDate();
+            List<SimulationSnapshotRow> rows = new ArrayList<>(
+                    repository.loadSimulationSnapshots(userId, startDate, persistedEnd));
+            if (endDate.isAfter(state.anchorDate())) {
+                appendSimulationTail(rows, userId, state, startDate, endDate);
+            }
+            return rows;
+        }
+
+        LocalDate windowStart = simulationWindowStart(userId, lookbackDays);
+        SimulationSeries series = repository.loadCurrentPortfolioHistoricalSeries(userId, windowStart, endDate);
+        if (series.isEmpty()) {
+            return List.of();
+        }
+        SimulationKernel.compute(series, series.value(0), series.value(0), Double.NaN);
+        List<SimulationSnapshotRow> rows = new ArrayList<>(series.size());
+        appendSimulationRows(rows, series, startDate);
+        return rows;
+    }
+
+    private LocalDate simulationWindowStart(long userId, int lookbackDays) {
+        LocalDate windowStart = LocalDate.now().minusDays(Math.max(lookbackDays, 30));
+        LocalDate buyStart = repository.findDefaultSimulationStartDate(userId);
+        if (buyStart != null && buyStart.isAfter(windowStart)) {
+            windowStart = buyStart;
+        }
+        return windowStart;
+    }
+
+    private SimulationState advanceSimulationAnchor(SimulationState state, SimulationSeries series, LocalDate today) {
+        int anchorIndex = series.firstIndexOnOrAfter(today) - 1;
+        if (anchorIndex < 0) {
+            return state;
+        }
+        return new SimulationState(
+                state.holdingsHash(),
+                state.windowStart(),
+                state.baseValue(),
+                series.date(anchorIndex),
+                BigDecimal.valueOf(series.value(anchorIndex)).setScale(6, RoundingMode.HALF_UP),
+                BigDecimal.valueOf(series.peakValue(anchorIndex)).setScale(6, RoundingMode.HALF_UP));
+    }
+
+    private void appendSimulationRows(List<SimulationSnapshotRow> rows, SimulationSeries series, LocalDate startDate) {
+        for (int i = series.firstIndexOnOrAfter(startDate); i < series.size(); i++) {
+            rows.add(new SimulationSnapshotRow(
+                    series.date(i),
+                    BigDecimal.valueOf(series.value(i)).setScale(2, RoundingMode.HALF_UP),
+                    BigDecimal.valueOf(series.cumulativeReturnPct(i)).setScale(4, RoundingMode.HALF_UP),
+                    BigDecimal.valueOf(series.dailyReturnPct(i)).setScale(4, RoundingMode.HALF_UP),
+                    BigDecimal.valueOf(series.drawdownPct(i)).setScale(4, RoundingMode.HALF_UP)));
+        }
     }
 
     @Caching(evict = {
@@ -584,7 +850,9 @@ public class PlatformService {
         if (!repository.isAccountOwnedByUser(userId, request.accountId())) {
             throw new IllegalArgumentException(simulationMessage("transaction.error.account_verify", "사용자 계좌 검증에 실패했어요."));
         }
-        return repository.createTransaction(request);
+        CreateTransactionResponse response = repository.createTransaction(request);
+        repository.bumpAdviceInputsVersion(userId);
+        return response;
     }
 
     private PortfolioAdviceResponse emptyAdvice(long userId) {
@@ -616,7 +884,11 @@ public class PlatformService {
         return new PortfolioAdviceResponse(metrics, List.of(), List.of(), insight);
     }
 
-    private PortfolioSimulationResponse emptySimulation(long userId, LocalDate startDate, LocalDate endDate) {
+    private PortfolioSimulationResponse emptySimulation(
+            long userId,
+            LocalDate startDate,
+            LocalDate endDate,
+            SimulationResolution resolution) {
         List<String> notes = List.of(
                 simulationMessage("simulation.empty.note.1", "선택한 기간에는 시뮬레이션에 필요한 가격 데이터가 부족해요."),
                 simulationMessage("simulation.empty.note.2", "시작일을 최근으로 조정하거나 시세 배치 상태를 확인해 주세요."));
@@ -633,7 +905,8 @@ public class PlatformService {
                 BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP),
                 List.of(),
                 List.of(),
-                notes);
+                notes,
+                resolution.name());
     }
 
     private AnalyticsMetrics computeAnalyticsMetrics(
@@ -646,28 +919,24 @@ public class PlatformService {
         double riskFreeRatePct = advisorRuleDouble("analytics.risk_free_rate_pct", 3.0);
         double minAnnualVolatilityPct = advisorRuleDouble("analytics.min_annual_volatility_pct", 9.0);
 
-        List<Double> dailyReturns = new ArrayList<>();
-        for (int i = 1; i < dailyValues.size(); i++) {
-            double prev = dailyValues.get(i - 1).portfolioValue().doubleValue();
-            double current = dailyValues.get(i).portfolioValue().doubleValue();
-            if (prev > 0) {
-                dailyReturns.add((current - prev) / prev);
-            }
+        PortfolioStatsAccumulator stats = new PortfolioStatsAccumulator();
+        for (DailyPortfolioValuePoint valuePoint : dailyValues) {
+            stats.acceptValue(valuePoint.portfolioValue().doubleValue());
         }
 
-        double expectedDailyReturn = dailyReturns.isEmpty()
+        double expectedDailyReturn = stats.returnCount() == 0
                 ? estimateFallbackDailyReturn(positions, totalValue)
-                : dailyReturns.stream().mapToDouble(v -> v).average().orElse(0.0);
+                : stats.mean();
         double expectedAnnualReturnPct = expectedDailyReturn * tradingDays * 100.0;
 
         double annualVolatilityPct;
-        if (dailyReturns.size() >= 2) {
-            annualVolatilityPct = standardDeviation(dailyReturns) * Math.sqrt(tradingDays) * 100.0;
+        if (stats.returnCount() >= 2) {
+            annualVolatilityPct = stats.sampleStandardDeviation() * Math.sqrt(tradingDays) * 100.0;
         } else {
             annualVolatilityPct = Math.max(minAnnualVolatilityPct, standardDeviationFromPnL(positions));
         }
 
-        double maxDrawdownPct = computeMaxDrawdownPct(dailyValues, concentrationPct);
+        double maxDrawdownPct = computeMaxDrawdownPct(stats, concentrationPct);
         double sharpeRatio = annualVolatilityPct <= 0.001
                 ? 0.0
                 : (expectedAnnualReturnPct - riskFreeRatePct) / annualVolatilityPct;
@@ -1161,50 +1430,24 @@ public class PlatformService {
         return weighted / 20.0;
     }
 
-    private double computeMaxDrawdownPct(List<DailyPortfolioValuePoint> dailyValues, double concentrationPct) {
-        if (dailyValues.size() < 2) {
+    private double computeMaxDrawdownPct(PortfolioStatsAccumulator stats, double concentrationPct) {
+        if (stats.valueCount() < 2) {
             double fallbackFloor = advisorRuleDouble("analytics.min_drawdown_fallback_pct", 4.0);
             double concentrationFactor = advisorRuleDouble("analytics.drawdown_concentration_factor", 0.25);
             return Math.max(fallbackFloor, concentrationPct * concentrationFactor);
         }
-
-        double peak = Double.MIN_VALUE;
-        double maxDrawdown = 0.0;
-        for (DailyPortfolioValuePoint valuePoint : dailyValues) {
-            double value = valuePoint.portfolioValue().doubleValue();
-            if (value <= 0) {
-                continue;
-            }
-            peak = Math.max(peak, value);
-            if (peak > 0) {
-                double drawdown = (peak - value) / peak;
-                if (drawdown > maxDrawdown) {
-                    maxDrawdown = drawdown;
-                }
-            }
-        }
-        return maxDrawdown * 100.0;
+        return stats.maxDrawdown() * 100.0;
     }
 
     private double standardDeviationFromPnL(List<PositionSnapshot> positions) {
         if (positions.size() < 2) {
             return 12.0;
         }
-        List<Double> pnlRates = positions.stream()
-                .map(p -> p.pnlRate().doubleValue())
-                .toList();
-        return Math.max(advisorRuleDouble("analytics.min_stddev_from_pnl_pct", 8.0), standardDeviation(pnlRates));
-    }
-
-    private double standardDeviation(List<Double> values) {
-        if (values.size() < 2) {
-            return 0.0;
+        PortfolioStatsAccumulator stats = new PortfolioStatsAccumulator();
+        for (PositionSnapshot position : positions) {
+            stats.acceptReturn(position.pnlRate().doubleValue());
         }
-        double mean = values.stream().mapToDouble(v -> v).average().orElse(0.0);
-        double variance = values.stream()
-                .mapToDouble(v -> Math.pow(v - mean, 2))
-                .sum() / (values.size() - 1);
-        return Math.sqrt(Math.max(variance, 0.0));
+        return Math.max(advisorRuleDouble("analytics.min_stddev_from_pnl_pct", 8.0), stats.sampleStandardDeviation());
     }
 
     private BigDecimal round(double value, int scale) {
@@ -1230,6 +1473,12 @@ public class PlatformService {
         return runtimeConfigService.getString(RuntimeConfigService.GROUP_SIMULATION_MESSAGE, key, defaultValue);
     }
 
+    private record SimulationRange(LocalDate startDate, LocalDate endDate, int lookbackDays) {
+    }
+
+    private record SimulationTimeline(List<SimulationSnapshotRow> rows, int dayCount, BigDecimal maxDrawdownPct) {
+    }
+
     private record AnalyticsMetrics(
             BigDecimal totalValue,
             BigDecimal expectedAnnualReturnPct,
@@ -0,0 +1,60 @@
+package com.assetinfo.playasset.api.v1.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Component
+public class PromptPayloadEncoder {
+
+    private static final int POOL_SIZE = 32;
+    private static final int INITIAL_BUFFER_BYTES = 4096;
+    private static final int MAX_POOLED_BUFFER_BYTES = 64 * 1024;
+
+    private final JsonFactory jsonFactory;
+    private final BlockingQueue<ByteArrayOutputStream> buffers = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    public PromptPayloadEncoder(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public PromptPayload encode(JsonBody body) {
+        ByteArrayOutputStream buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = new ByteArrayOutputStream(INITIAL_BUFFER_BYTES);
+        }
+        try {
+            try (JsonGenerator generator = jsonFactory.createGenerator(buffer, JsonEncoding.UTF8)) {
+                generator.enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+                body.write(generator);
+            }
+            byte[] bytes = buffer.toByteArray();
+            return new PromptPayload(new String(bytes, StandardCharsets.UTF_8), ContentHashes.sha256Hex(bytes));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            if (buffer.size() <= MAX_POOLED_BUFFER_BYTES) {
+                buffer.reset();
+                buffers.offer(buffer);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface JsonBody {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    public record PromptPayload(String json, String contentHash) {
+    }
+}
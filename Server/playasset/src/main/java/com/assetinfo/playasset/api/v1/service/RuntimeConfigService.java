@@ -1,67 +1,130 @@
 package com.assetinfo.playasset.api.v1.service;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository;
-import com.assetinfo.playasset.config.CacheNames;
 
 @Service
-public class RuntimeConfigService {
+public class RuntimeConfigService implements MessageListener {
 
     public static final String GROUP_ADVISOR_RULE = "ADVISOR_RULE";
     public static final String GROUP_ADVISOR_MESSAGE = "ADVISOR_MESSAGE";
     public static final String GROUP_SIMULATION_MESSAGE = "SIMULATION_MESSAGE";
     public static final String GROUP_MARKET_BATCH_MESSAGE = "MARKET_BATCH_MESSAGE";
+    public static final String GROUP_BATCH_RULE = "BATCH_RULE";
+    public static final String CHANGE_CHANNEL = "playasset:runtime-config:changed";
+
+    private static final Logger log = LoggerFactory.getLogger(RuntimeConfigService.class);
 
     private final PlatformQueryRepository repository;
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong versions = new AtomicLong();
+    private final Map<String, RuntimeConfigSnapshot> snapshots = new ConcurrentHashMap<>();
 
-    public RuntimeConfigService(PlatformQueryRepository repository) {
+    public RuntimeConfigService(PlatformQueryRepository repository, StringRedisTemplate redisTemplate) {
         this.repository = repository;
+        this.redisTemplate = redisTemplate;
+    }
+
+    public RuntimeConfigSnapshot snapshot(String groupCode) {
+        RuntimeConfigSnapshot snapshot = snapshots.get(groupCode);
+        return snapshot != null ? snapshot : install(load(groupCode));
     }
 
-    @Cacheable(cacheNames = CacheNames.RUNTIME_CONFIG, key = "#groupCode")
     public Map<String, String> loadGroup(String groupCode) {
-        return repository.loadRuntimeConfigMap(groupCode);
+        return snapshot(groupCode).values();
     }
 
     public String getString(String groupCode, String key, String defaultValue) {
-        String value = loadGroup(groupCode).get(key);
-        if (value == null || value.isBlank()) {
-            return defaultValue;
-        }
-        return value.trim();
+        return snapshot(groupCode).getString(key, defaultValue);
     }
 
     public int getInt(String groupCode, String key, int defaultValue) {
-        String raw = loadGroup(groupCode).get(key);
-        if (raw == null || raw.isBlank()) {
-            return defaultValue;
+        return snapshot(groupCode).getInt(key, defaultValue);
+    }
+
+    public double getDouble(String groupCode, String key, double defaultValue) {
+        return snapshot(groupCode).getDouble(key, defaultValue);
+    }
+
+    public void refreshGroup(String groupCode) {
+        refreshGroup(groupCode, () -> {
+        });
+    }
+
+    public void refreshGroup(String groupCode, Runnable afterPublish) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reloadAndPublish(groupCode);
+                    afterPublish.run();
+                }
+            });
+            return;
         }
-        try {
-            return Integer.parseInt(raw.trim());
-        } catch (NumberFormatException ex) {
-            return defaultValue;
+        reloadAndPublish(groupCode);
+        afterPublish.run();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 2);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
         }
+        reload(parts[1]);
     }
 
-    public double getDouble(String groupCode, String key, double defaultValue) {
-        String raw = loadGroup(groupCode).get(key);
-        if (raw == null || raw.isBlank()) {
-            return defaultValue;
+    @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+    public void refreshLoadedGroups() {
+        for (String groupCode : snapshots.keySet()) {
+            try {
+                reload(groupCode);
+            } catch (RuntimeException ex) {
+                log.warn("runtime config periodic refresh failed: group={}", groupCode, ex);
+            }
         }
+    }
+
+    private void reloadAndPublish(String groupCode) {
+        reload(groupCode);
         try {
-            return Double.parseDouble(raw.trim());
-        } catch (NumberFormatException ex) {
-            return defaultValue;
+            redisTemplate.convertAndSend(CHANGE_CHANNEL, nodeId + "|" + groupCode);
+        } catch (RuntimeException ex) {
+            log.warn("runtime config change broadcast failed: group={}", groupCode, ex);
         }
     }
 
-    @CacheEvict(cacheNames = CacheNames.RUNTIME_CONFIG, key = "#groupCode")
-    public void evictGroup(String groupCode) {
-        // Cache eviction marker method
+    private void reload(String groupCode) {
+        RuntimeConfigSnapshot snapshot = install(load(groupCode));
+        log.debug("runtime config snapshot published: group={}, version={}", groupCode, snapshot.version());
+    }
+
+    private RuntimeConfigSnapshot install(RuntimeConfigSnapshot loaded) {
+        return snapshots.merge(
+                loaded.groupCode(),
+                loaded,
+                (current, candidate) -> candidate.version() > current.version() ? candidate : current);
+    }
+
+    private RuntimeConfigSnapshot load(String groupCode) {
+        Map<String, String> values = repository.loadRuntimeConfigMap(groupCode);
+        return new RuntimeConfigSnapshot(groupCode, versions.incrementAndGet(), values);
     }
 }
@@ -0,0 +1,81 @@
+package com.assetinfo.playasset.api.v1.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+public final class RuntimeConfigSnapshot {
+
+    private final String groupCode;
+    private final long version;
+    private final Map<String, String> values;
+    private final Map<String, Double> numbers;
+    private final Map<String, Integer> integers;
+    private final Map<String, Object> derived = new ConcurrentHashMap<>();
+
+    RuntimeConfigSnapshot(String groupCode, long version, Map<String, String> rawValues) {
+        Map<String, String> values = new HashMap<>();
+        Map<String, Double> numbers = new HashMap<>();
+        Map<String, Integer> integers = new HashMap<>();
+        rawValues.forEach((key, raw) -> {
+            if (raw == null || raw.isBlank()) {
+                return;
+            }
+            String value = raw.trim();
+            values.put(key, value);
+            try {
+                numbers.put(key, Double.parseDouble(value));
+                integers.put(key, Integer.parseInt(value));
+            } catch (NumberFormatException ignored) {
+                // non-numeric values are only readable as strings
+            }
+        });
+        this.groupCode = groupCode;
+        this.version = version;
+        this.values = Map.copyOf(values);
+        this.numbers = Map.copyOf(numbers);
+        this.integers = Map.copyOf(integers);
+    }
+
+    public String groupCode() {
+        return groupCode;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Map<String, String> values() {
+        return values;
+    }
+
+    public String getString(String key, String defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Integer value = integers.get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        Double value = numbers.get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public String contentHash() {
+        return derive("content.hash", snapshotValues -> {
+            StringBuilder canonical = new StringBuilder();
+            new TreeMap<>(snapshotValues).forEach((key, value) -> canonical.append(key).append('=').append(value).append('\n'));
+            return ContentHashes.sha256Hex(canonical.toString());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T derive(String name, Function<Map<String, String>, T> factory) {
+        return (T) derived.computeIfAbsent(name, key -> factory.apply(values));
+    }
+}
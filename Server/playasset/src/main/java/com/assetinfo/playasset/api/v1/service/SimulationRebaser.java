@@ -0,0 +1,42 @@
+package com.assetinfo.playasset.api.v1.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.SimulationSnapshotRow;
+
+final class SimulationRebaser {
+
+    private double startValue = Double.NaN;
+    private double peakValue;
+
+    static List<SimulationSnapshotRow> rebase(List<SimulationSnapshotRow> rows) {
+        SimulationRebaser rebaser = new SimulationRebaser();
+        List<SimulationSnapshotRow> rebased = new ArrayList<>(rows.size());
+        for (SimulationSnapshotRow row : rows) {
+            rebased.add(rebaser.apply(row));
+        }
+        return rebased;
+    }
+
+    SimulationSnapshotRow apply(SimulationSnapshotRow row) {
+        double value = row.simulatedValue().doubleValue();
+        if (Double.isNaN(startValue)) {
+            startValue = value;
+            peakValue = value;
+        }
+        if (value > peakValue) {
+            peakValue = value;
+        }
+        double cumulative = startValue == 0 ? 0 : (value - startValue) / startValue * 100;
+        double drawdown = peakValue == 0 ? 0 : (peakValue - value) / peakValue * 100;
+        return new SimulationSnapshotRow(
+                row.snapshotDate(),
+                row.simulatedValue(),
+                BigDecimal.valueOf(cumulative).setScale(4, RoundingMode.HALF_UP),
+                row.dailyReturnPct(),
+                BigDecimal.valueOf(drawdown).setScale(4, RoundingMode.HALF_UP));
+    }
+}
@@ -0,0 +1,88 @@
+package com.assetinfo.playasset.api.v1.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.assetinfo.playasset.analytics.LttbDownsampler;
+import com.assetinfo.playasset.analytics.SimulationResolution;
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.SimulationSnapshotRow;
+
+final class SimulationRollup {
+
+    static List<SimulationSnapshotRow> rollUp(
+            List<SimulationSnapshotRow> rows,
+            SimulationResolution resolution,
+            LocalDate startDate,
+            LocalDate endDate,
+            Integer maxPoints) {
+        if (rows.size() <= 1 || resolution == SimulationResolution.DAILY) {
+            return rows;
+        }
+        List<SimulationSnapshotRow> selected = resolution == SimulationResolution.DOWNSAMPLED
+                ? downsample(rows, startDate, endDate, maxPoints)
+                : bucket(rows, resolution);
+        return withPeriodReturns(selected);
+    }
+
+    private static List<SimulationSnapshotRow> bucket(List<SimulationSnapshotRow> rows, SimulationResolution resolution) {
+        List<SimulationSnapshotRow> rolled = new ArrayList<>();
+        rolled.add(rows.get(0));
+        int index = 1;
+        while (index < rows.size()) {
+            LocalDate bucket = resolution.bucketStart(rows.get(index).snapshotDate());
+            BigDecimal maxDrawdown = rows.get(index).drawdownPct();
+            SimulationSnapshotRow last = rows.get(index);
+            index++;
+            while (index < rows.size() && resolution.bucketStart(rows.get(index).snapshotDate()).equals(bucket)) {
+                last = rows.get(index);
+                maxDrawdown = maxDrawdown.max(last.drawdownPct());
+                index++;
+            }
+            rolled.add(new SimulationSnapshotRow(
+                    last.snapshotDate(),
+                    last.simulatedValue(),
+                    last.cumulativeReturnPct(),
+                    last.dailyReturnPct(),
+                    maxDrawdown));
+        }
+        return rolled;
+    }
+
+    private static List<SimulationSnapshotRow> downsample(
+            List<SimulationSnapshotRow> rows,
+            LocalDate startDate,
+            LocalDate endDate,
+            int maxPoints) {
+        List<SimulationSnapshotRow> selected = new ArrayList<>(maxPoints);
+        LttbDownsampler<SimulationSnapshotRow> downsampler = new LttbDownsampler<>(
+                (int) startDate.toEpochDay(),
+                (int) endDate.toEpochDay(),
+                maxPoints,
+                selected::add);
+        for (SimulationSnapshotRow row : rows) {
+            downsampler.accept((int) row.snapshotDate().toEpochDay(), row.simulatedValue().doubleValue(), row);
+        }
+        downsampler.finish();
+        return selected;
+    }
+
+    private static List<SimulationSnapshotRow> withPeriodReturns(List<SimulationSnapshotRow> points) {
+        List<SimulationSnapshotRow> result = new ArrayList<>(points.size());
+        result.add(points.get(0));
+        for (int i = 1; i < points.size(); i++) {
+            SimulationSnapshotRow point = points.get(i);
+            double previous = points.get(i - 1).simulatedValue().doubleValue();
+            double periodReturn = previous == 0 ? 0 : (point.simulatedValue().doubleValue() - previous) / previous * 100;
+            result.add(new SimulationSnapshotRow(
+                    point.snapshotDate(),
+                    point.simulatedValue(),
+                    point.cumulativeReturnPct(),
+                    BigDecimal.valueOf(periodReturn).setScale(4, RoundingMode.HALF_UP),
+                    point.drawdownPct()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,152 @@
+package com.assetinfo.playasset.api.v1.service;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class ToneNormalizer {
+
+    public static final String RULE_KEY_PREFIX = "tone.replace.";
+    private static final String RULE_SEPARATOR = "=>";
+
+    private static final Map<String, String> DEFAULT_RULES = defaultRules();
+
+    private final Node root;
+
+    private ToneNormalizer(Map<String, String> rules) {
+        this.root = new Node();
+        rules.forEach(this::insert);
+    }
+
+    public static ToneNormalizer withDefaults() {
+        return new ToneNormalizer(DEFAULT_RULES);
+    }
+
+    public static ToneNormalizer fromConfig(Map<String, String> messageValues) {
+        Map<String, String> rules = new LinkedHashMap<>(DEFAULT_RULES);
+        messageValues.forEach((key, value) -> {
+            if (!key.startsWith(RULE_KEY_PREFIX)) {
+                return;
+            }
+            int separator = value.indexOf(RULE_SEPARATOR);
+            if (separator <= 0) {
+                return;
+            }
+            String from = value.substring(0, separator).trim();
+            String to = value.substring(separator + RULE_SEPARATOR.length()).trim();
+            if (!from.isEmpty()) {
+                rules.put(from, to);
+            }
+        });
+        return new ToneNormalizer(rules);
+    }
+
+    public String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String trimmed = text.trim();
+        if (trimmed.isEmpty()) {
+            return trimmed;
+        }
+
+        StringBuilder out = new StringBuilder(trimmed.length() + 4);
+        int length = trimmed.length();
+        int i = 0;
+        while (i < length) {
+            Node node = root;
+            String replacement = null;
+            int matchEnd = -1;
+            for (int j = i; j < length; j++) {
+                node = node.child(trimmed.charAt(j));
+                if (node == null) {
+                    break;
+                }
+                if (node.replacement != null) {
+                    replacement = node.replacement;
+                    matchEnd = j + 1;
+                }
+            }
+            if (replacement == null) {
+                out.append(trimmed.charAt(i));
+                i++;
+            } else {
+                out.append(replacement);
+                i = matchEnd;
+            }
+        }
+
+        int end = out.length();
+        if (end >= 2 && out.charAt(end - 2) == '다' && out.charAt(end - 1) == '.') {
+            out.setCharAt(end - 2, '요');
+        } else if (end >= 1 && out.charAt(end - 1) == '다') {
+            out.setCharAt(end - 1, '요');
+        }
+
+        if (out.isEmpty()) {
+            return "";
+        }
+        char last = out.charAt(out.length() - 1);
+        if (last != '.' && last != '!' && last != '?') {
+            if (last == '요') {
+                out.append('.');
+            } else if (last >= '가' && last <= '힣') {
+                out.append("요.");
+            }
+        }
+        return out.toString();
+    }
+
+    private void insert(String from, String to) {
+        Node node = root;
+        for (int i = 0; i < from.length(); i++) {
+            node = node.childOrCreate(from.charAt(i));
+        }
+        node.replacement = to;
+    }
+
+    private static Map<String, String> defaultRules() {
+        Map<String, String> rules = new LinkedHashMap<>();
+        rules.put("있습니다", "있어요");
+        rules.put("없습니다", "없어요");
+        rules.put("필요합니다", "필요해요");
+        rules.put("권장합니다", "권장해요");
+        rules.put("주의합니다", "주의해요");
+        rules.put("유지합니다", "유지해요");
+        rules.put("진행합니다", "진행해요");
+        rules.put("가능합니다", "가능해요");
+        rules.put("됩니다", "돼요");
+        rules.put("입니다", "이에요");
+        rules.put("합니다", "해요");
+        return Map.copyOf(rules);
+    }
+
+    private static final class Node {
+
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private String replacement;
+
+        private Node child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            Node created = new Node();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = c;
+            children[children.length - 1] = created;
+            return created;
+        }
+    }
+}
@@ -112,7 +112,10 @@ public class TransactionImportService {
             throw new IllegalArgumentException("Failed to parse Excel file: " + ex.getMessage(), ex);
         }
 
-        cacheEvictService.evictMarketDrivenCaches();
+        if (importedRows > 0) {
+            repository.bumpAdviceInputsVersion(userId);
+        }
+        cacheEvictService.evictUserCaches(userId);
         return new TransactionImportResponse(
                 totalRows,
                 importedRows,
@@ -0,0 +1,186 @@
+package com.assetinfo.playasset.batch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository;
+import com.assetinfo.playasset.api.v1.service.RuntimeConfigService;
+import com.zaxxer.hikari.HikariDataSource;
+
+@Component
+public class BatchJobCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchJobCoordinator.class);
+
+    private final PlatformQueryRepository repository;
+    private final RuntimeConfigService runtimeConfigService;
+    private final ExecutorService virtualThreadExecutor;
+    private final DataSource dataSource;
+    private final String nodeId;
+    private final ReentrantLock connectionLock = new ReentrantLock();
+    private final Condition connectionReleased = connectionLock.newCondition();
+    private int connectionsInUse;
+
+    public BatchJobCoordinator(
+            PlatformQueryRepository repository,
+            RuntimeConfigService runtimeConfigService,
+            ExecutorService virtualThreadExecutor,
+            DataSource dataSource) {
+        this.repository = repository;
+        this.runtimeConfigService = runtimeConfigService;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.dataSource = dataSource;
+        String hostname = System.getenv("HOSTNAME");
+        this.nodeId = (hostname == null || hostname.isBlank() ? "local" : hostname)
+                + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public int runClaimedShards(String jobKey, int shardCount, Duration interval, ShardTask shardTask) {
+        int shards = Math.max(1, shardCount);
+        int offset = Math.floorMod(nodeId.hashCode(), shards);
+        int claimed = 0;
+        for (int i = 0; i < shards; i++) {
+            int shard = (offset + i) % shards;
+            if (runExclusive(shardKey(jobKey, shard, shards), interval, lease -> shardTask.run(shard, lease))) {
+                claimed++;
+            }
+        }
+        return claimed;
+    }
+
+    public int reclaimExpiredShards(String jobKey, int shardCount, Duration interval, ShardTask shardTask) {
+        int shards = Math.max(1, shardCount);
+        List<String> shardKeys = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            shardKeys.add(shardKey(jobKey, shard, shards));
+        }
+        int reclaimed = 0;
+        for (String leaseKey : repository.findExpiredRunningCheckpoints(shardKeys)) {
+            int shard = shardKeys.indexOf(leaseKey);
+            if (runExclusive(leaseKey, interval, lease -> shardTask.run(shard, lease))) {
+                log.info("expired batch shard reclaimed: key={}, node={}", leaseKey, nodeId);
+                reclaimed++;
+            }
+        }
+        return reclaimed;
+    }
+
+    public static String shardKey(String jobKey, int shard, int shardCount) {
+        return jobKey + "#shard-" + shard + "/" + shardCount;
+    }
+
+    public boolean runExclusive(String leaseKey, Duration interval, Runnable task) {
+        return runExclusive(leaseKey, interval, lease -> task.run());
+    }
+
+    public boolean runExclusive(String leaseKey, Duration interval, Consumer<BatchLease> task) {
+        int ttlSeconds = Math.max(10, batchRuleInt("lease.ttl_seconds", 60));
+        int heartbeatSeconds = Math.max(1, Math.min(ttlSeconds / 2, batchRuleInt("lease.heartbeat_seconds", 15)));
+        if (!repository.tryAcquireBatchLease(leaseKey, nodeId, ttlSeconds)) {
+            log.debug("batch lease held elsewhere: key={}, node={}", leaseKey, nodeId);
+            return false;
+        }
+
+        BatchLease lease = new BatchLease(leaseKey);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Future<?> heartbeat = virtualThreadExecutor.submit(() -> {
+            while (running.get()) {
+                try {
+                    Thread.sleep(heartbeatSeconds * 1000L);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (!running.get()) {
+                    return;
+                }
+                try {
+                    if (!repository.renewBatchLease(leaseKey, nodeId, ttlSeconds)) {
+                        lease.markLost();
+                        log.warn("batch lease lost during run: key={}, node={}", leaseKey, nodeId);
+                        return;
+                    }
+                } catch (RuntimeException ex) {
+                    lease.markLost();
+                    log.warn("batch lease renewal failed, treating lease as lost: key={}, node={}", leaseKey, nodeId, ex);
+                    return;
+                }
+            }
+        });
+        try {
+            task.accept(lease);
+            return true;
+        } finally {
+            running.set(false);
+            heartbeat.cancel(true);
+            if (!lease.isLost()) {
+                repository.releaseBatchLease(leaseKey, nodeId, interval.getSeconds());
+            }
+        }
+    }
+
+    public int connectionPermits(int parallelism, int connectionsPerTask) {
+        return Math.max(1, Math.min(parallelism, connectionBudget() / Math.max(1, connectionsPerTask)));
+    }
+
+    public <T> T withConnections(int connections, Supplier<T> task) {
+        int budget = connectionBudget();
+        int wanted = Math.max(1, Math.min(connections, budget));
+        connectionLock.lock();
+        try {
+            while (connectionsInUse > 0 && connectionsInUse + wanted > budget) {
+                connectionReleased.awaitUninterruptibly();
+            }
+            connectionsInUse += wanted;
+        } finally {
+            connectionLock.unlock();
+        }
+        try {
+            return task.get();
+        } finally {
+            connectionLock.lock();
+            try {
+                connectionsInUse -= wanted;
+                connectionReleased.signalAll();
+            } finally {
+                connectionLock.unlock();
+            }
+        }
+    }
+
+    private int connectionBudget() {
+        if (!(dataSource instanceof HikariDataSource hikari)) {
+            return Integer.MAX_VALUE;
+        }
+        int poolReserve = Math.max(0, batchRuleInt("simulation.pool_reserve", 30));
+        return Math.max(1, hikari.getMaximumPoolSize() - poolReserve);
+    }
+
+    private int batchRuleInt(String key, int defaultValue) {
+        return runtimeConfigService.getInt(RuntimeConfigService.GROUP_BATCH_RULE, key, defaultValue);
+    }
+
+    @FunctionalInterface
+    public interface ShardTask {
+        void run(int shard, BatchLease lease);
+    }
+}
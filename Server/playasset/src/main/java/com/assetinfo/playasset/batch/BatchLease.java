@@ -0,0 +1,29 @@
+package com.assetinfo.playasset.batch;
+
+public final class BatchLease {
+
+    private final String leaseKey;
+    private volatile boolean lost;
+
+    BatchLease(String leaseKey) {
+        this.leaseKey = leaseKey;
+    }
+
+    public String leaseKey() {
+        return leaseKey;
+    }
+
+    public boolean isLost() {
+        return lost;
+    }
+
+    public void ensureHeld() {
+        if (lost) {
+            throw new IllegalStateException("batch lease lost: " + leaseKey);
+        }
+    }
+
+    void markLost() {
+        lost = true;
+    }
+}
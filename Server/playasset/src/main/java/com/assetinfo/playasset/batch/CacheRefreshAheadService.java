@@ -0,0 +1,157 @@
+package com.assetinfo.playasset.batch;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository;
+import com.assetinfo.playasset.api.v1.service.PlatformService;
+import com.assetinfo.playasset.api.v1.service.RuntimeConfigService;
+
+@Component
+public class CacheRefreshAheadService {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheRefreshAheadService.class);
+    private static final int CONNECTIONS_PER_USER = 4;
+
+    private final PlatformQueryRepository repository;
+    private final PlatformService platformService;
+    private final RuntimeConfigService runtimeConfigService;
+    private final ExecutorService virtualThreadExecutor;
+    private final BatchJobCoordinator jobCoordinator;
+
+    public CacheRefreshAheadService(
+            PlatformQueryRepository repository,
+            PlatformService platformService,
+            RuntimeConfigService runtimeConfigService,
+            ExecutorService virtualThreadExecutor,
+            BatchJobCoordinator jobCoordinator) {
+        this.repository = repository;
+        this.platformService = platformService;
+        this.runtimeConfigService = runtimeConfigService;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.jobCoordinator = jobCoordinator;
+    }
+
+    public int refreshActiveUsers() {
+        return refresh("ALL_ACTIVE", null);
+    }
+
+    public int refreshActiveUsersAffectedBy(Collection<Long> changedAssetIds) {
+        if (changedAssetIds.isEmpty()) {
+            return 0;
+        }
+        return refresh("CHANGED_ASSETS", changedAssetIds);
+    }
+
+    private int refresh(String sourceKey, Collection<Long> changedAssetIds) {
+        if (batchRuleInt("refresh_ahead.enabled", 1) != 1) {
+            return 0;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        int concurrency = Math.max(1, Math.min(64, batchRuleInt("refresh_ahead.concurrency", 8)));
+        int permitCount = jobCoordinator.connectionPermits(concurrency, CONNECTIONS_PER_USER);
+        int windowMinutes = Math.max(1, batchRuleInt("refresh_ahead.active_window_minutes", 180));
+        int maxUsers = Math.max(1, batchRuleInt("refresh_ahead.max_users", 2000));
+        try {
+            List<Long> activeUserIds = repository.findRecentlyActiveUserIds(windowMinutes, maxUsers);
+            Set<Long> holderIds;
+            Set<Long> watcherIds;
+            if (changedAssetIds == null) {
+                holderIds = new HashSet<>(activeUserIds);
+                watcherIds = holderIds;
+            } else {
+                holderIds = new HashSet<>(repository.findUserIdsHoldingAssets(changedAssetIds));
+                watcherIds = new HashSet<>(repository.findUserIdsWatchingAssets(changedAssetIds));
+                holderIds.retainAll(activeUserIds);
+                watcherIds.retainAll(activeUserIds);
+            }
+            Set<Long> userIds = new LinkedHashSet<>(holderIds);
+            userIds.addAll(watcherIds);
+
+            Semaphore permits = new Semaphore(permitCount);
+            AtomicInteger refreshed = new AtomicInteger();
+            List<CompletableFuture<Void>> tasks = new ArrayList<>(userIds.size());
+            for (Long userId : userIds) {
+                boolean holder = holderIds.contains(userId);
+                boolean watcher = watcherIds.contains(userId);
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        if (jobCoordinator.withConnections(CONNECTIONS_PER_USER, () -> refreshUser(userId, holder, watcher))) {
+                            refreshed.incrementAndGet();
+                        }
+                    } finally {
+                        permits.release();
+                    }
+                }, virtualThreadExecutor));
+            }
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+
+            repository.insertIngestionJob(
+                    "CACHE_REFRESH_AHEAD",
+                    sourceKey,
+                    userIds.size(),
+                    refreshed.get(),
+                    "SUCCEEDED",
+                    null,
+                    startedAt,
+                    LocalDateTime.now());
+            log.info(
+                    "cache refresh-ahead finished: source={}, activeUsers={}, affectedUsers={}, refreshed={}, permits={}, windowMinutes={}",
+                    sourceKey,
+                    activeUserIds.size(),
+                    userIds.size(),
+                    refreshed.get(),
+                    permitCount,
+                    windowMinutes);
+            return refreshed.get();
+        } catch (Exception ex) {
+            repository.insertIngestionJob(
+                    "CACHE_REFRESH_AHEAD",
+                    sourceKey,
+                    0,
+                    0,
+                    "FAILED",
+                    ex.getMessage(),
+                    startedAt,
+                    LocalDateTime.now());
+            log.error("cache refresh-ahead failed", ex);
+            return 0;
+        }
+    }
+
+    private boolean refreshUser(long userId, boolean holder, boolean watcher) {
+        try {
+            if (holder) {
+                platformService.refreshPositions(userId);
+            }
+            if (watcher) {
+                platformService.refreshWatchlist(userId);
+            }
+            if (holder) {
+                platformService.refreshDashboard(userId);
+            }
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("cache refresh-ahead failed: userId={}", userId, ex);
+            return false;
+        }
+    }
+
+    private int batchRuleInt(String key, int defaultValue) {
+        return runtimeConfigService.getInt(RuntimeConfigService.GROUP_BATCH_RULE, key, defaultValue);
+    }
+}
@@ -0,0 +1,98 @@
+package com.assetinfo.playasset.batch;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.assetinfo.playasset.api.v1.repository.AsOfPriceService;
+import com.assetinfo.playasset.api.v1.repository.LatestQuoteIndex;
+import com.assetinfo.playasset.api.v1.repository.LatestQuoteIndex.Quote;
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Component
+public class LatestQuoteBroadcaster implements MessageListener {
+
+    public static final String CHANGE_CHANNEL = "playasset:latest-quote:changed";
+
+    private static final Logger log = LoggerFactory.getLogger(LatestQuoteBroadcaster.class);
+    private static final String APPLY = "APPLY";
+    private static final String RELOAD = "RELOAD";
+    private static final TypeReference<List<Quote>> QUOTE_LIST = new TypeReference<>() {
+    };
+
+    private final PlatformQueryRepository repository;
+    private final LatestQuoteIndex latestQuoteIndex;
+    private final AsOfPriceService asOfPriceService;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public LatestQuoteBroadcaster(
+            PlatformQueryRepository repository,
+            LatestQuoteIndex latestQuoteIndex,
+            AsOfPriceService asOfPriceService,
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.latestQuoteIndex = latestQuoteIndex;
+        this.asOfPriceService = asOfPriceService;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void publishApplied(List<Quote> quotes) {
+        if (quotes.isEmpty()) {
+            return;
+        }
+        try {
+            publish(APPLY, objectMapper.writeValueAsString(quotes));
+        } catch (Exception ex) {
+            log.warn("latest quote broadcast failed: quotes={}", quotes.size(), ex);
+        }
+    }
+
+    public void publishReload() {
+        publish(RELOAD, "");
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            if (APPLY.equals(parts[1]) && latestQuoteIndex.isWarm()) {
+                List<Quote> quotes = objectMapper.readValue(parts[2], QUOTE_LIST);
+                latestQuoteIndex.applyAll(quotes);
+                asOfPriceService.applyAll(quotes);
+                return;
+            }
+            repository.warmLatestQuoteIndex();
+            if (RELOAD.equals(parts[1])) {
+                asOfPriceService.invalidateAll();
+            } else {
+                asOfPriceService.applyAll(latestQuoteIndex.values());
+            }
+        } catch (Exception ex) {
+            log.warn("latest quote broadcast apply failed: kind={}", parts[1], ex);
+        }
+    }
+
+    private void publish(String kind, String payload) {
+        try {
+            redisTemplate.convertAndSend(CHANGE_CHANNEL, nodeId + "|" + kind + "|" + payload);
+        } catch (RuntimeException ex) {
+            log.warn("latest quote broadcast failed: kind={}", kind, ex);
+        }
+    }
+}
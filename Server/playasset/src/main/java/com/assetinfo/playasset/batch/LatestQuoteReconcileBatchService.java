@@ -0,0 +1,93 @@
+package com.assetinfo.playasset.batch;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.assetinfo.playasset.api.v1.repository.AsOfPriceService;
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository;
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.CandleUpsertCommand;
+import com.assetinfo.playasset.api.v1.service.MarketFragmentService;
+
+@Component
+public class LatestQuoteReconcileBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(LatestQuoteReconcileBatchService.class);
+    private static final Duration CRON_JOB_HOLD = Duration.ofHours(1);
+
+    private final PlatformQueryRepository repository;
+    private final MarketFragmentService marketFragmentService;
+    private final BatchJobCoordinator jobCoordinator;
+    private final LatestQuoteBroadcaster latestQuoteBroadcaster;
+    private final AsOfPriceService asOfPriceService;
+
+    public LatestQuoteReconcileBatchService(
+            PlatformQueryRepository repository,
+            MarketFragmentService marketFragmentService,
+            BatchJobCoordinator jobCoordinator,
+            LatestQuoteBroadcaster latestQuoteBroadcaster,
+            AsOfPriceService asOfPriceService) {
+        this.repository = repository;
+        this.marketFragmentService = marketFragmentService;
+        this.jobCoordinator = jobCoordinator;
+        this.latestQuoteBroadcaster = latestQuoteBroadcaster;
+        this.asOfPriceService = asOfPriceService;
+    }
+
+    @Scheduled(
+            cron = "${app.batch.latest-quote-reconcile-cron:0 20 4 * * *}",
+            zone = "${app.batch.zone:Asia/Seoul}")
+    public void reconcileLatestQuotes() {
+        jobCoordinator.runExclusive("LATEST_QUOTE_RECONCILE", CRON_JOB_HOLD, () -> reconcileLatestQuotesInternal());
+    }
+
+    public int reconcileLatestQuotesNow() {
+        return reconcileLatestQuotesInternal();
+    }
+
+    private int reconcileLatestQuotesInternal() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            List<CandleUpsertCommand> drift = repository.findLatestQuoteDrift();
+            repository.repairLatestQuotes(drift);
+            if (!drift.isEmpty()) {
+                repository.warmLatestQuoteIndex();
+                asOfPriceService.invalidateAll();
+                latestQuoteBroadcaster.publishReload();
+                marketFragmentService.refreshTopMovers();
+                log.warn("latest quote drift repaired: assets={}",
+                        drift.stream().map(CandleUpsertCommand::assetId).limit(20).toList());
+            }
+            LocalDateTime finishedAt = LocalDateTime.now();
+            repository.insertIngestionJob(
+                    "LATEST_QUOTE_RECONCILE",
+                    "INTERNAL",
+                    drift.size(),
+                    drift.size(),
+                    "SUCCEEDED",
+                    null,
+                    startedAt,
+                    finishedAt);
+            log.info("latest quote reconcile finished: drift={}", drift.size());
+            return drift.size();
+        } catch (Exception ex) {
+            LocalDateTime finishedAt = LocalDateTime.now();
+            repository.insertIngestionJob(
+                    "LATEST_QUOTE_RECONCILE",
+                    "INTERNAL",
+                    0,
+                    0,
+                    "FAILED",
+                    ex.getMessage(),
+                    startedAt,
+                    finishedAt);
+            log.error("latest quote reconcile failed", ex);
+            return 0;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.assetinfo.playasset.batch;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -16,15 +17,23 @@ import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import com.assetinfo.playasset.api.v1.quota.PaidServiceKeys;
 import com.assetinfo.playasset.api.v1.quota.PaidServiceQuotaService;
+import com.assetinfo.playasset.api.v1.repository.AsOfPriceService;
+import com.assetinfo.playasset.api.v1.repository.LatestQuoteIndex;
+import com.assetinfo.playasset.api.v1.repository.LatestQuoteIndex.Quote;
 import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository;
 import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.AssetMarketSyncTarget;
 import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.CandleUpsertCommand;
+import com.assetinfo.playasset.api.v1.service.MarketFragmentService;
 import com.assetinfo.playasset.api.v1.service.PlatformCacheEvictService;
+import com.assetinfo.playasset.api.v1.service.PlatformCacheEvictService.MarketEvictionResult;
 import com.assetinfo.playasset.api.v1.service.RuntimeConfigService;
 import com.assetinfo.playasset.batch.provider.FxRateProvider;
 import com.assetinfo.playasset.batch.provider.MarketDataProvider;
@@ -49,6 +58,18 @@ public class MarketNewsBatchService {
     private final List<NewsDataProvider> newsDataProviders;
     private final FxRateProvider fxRateProvider;
     private final RuntimeConfigService runtimeConfigService;
+    private final LatestQuoteIndex latestQuoteIndex;
+    private final AsOfPriceService asOfPriceService;
+    private final MarketFragmentService marketFragmentService;
+    private final CacheRefreshAheadService cacheRefreshAheadService;
+    private final BatchJobCoordinator jobCoordinator;
+    private final LatestQuoteBroadcaster latestQuoteBroadcaster;
+
+    @Value("${app.batch.market-refresh-ms:300000}")
+    private long marketRefreshMs;
+
+    @Value("${app.batch.news-refresh-ms:420000}")
+    private long newsRefreshMs;
 
     public MarketNewsBatchService(
             PlatformQueryRepository repository,
@@ -58,7 +79,13 @@ public class MarketNewsBatchService {
             List<MarketDataProvider> marketDataProviders,
             List<NewsDataProvider> newsDataProviders,
             FxRateProvider fxRateProvider,
-            RuntimeConfigService runtimeConfigService) {
+            RuntimeConfigService runtimeConfigService,
+            LatestQuoteIndex latestQuoteIndex,
+            AsOfPriceService asOfPriceService,
+            MarketFragmentService marketFragmentService,
+            CacheRefreshAheadService cacheRefreshAheadService,
+            BatchJobCoordinator jobCoordinator,
+            LatestQuoteBroadcaster latestQuoteBroadcaster) {
         this.repository = repository;
         this.providerProperties = providerProperties;
         this.cacheEvictService = cacheEvictService;
@@ -67,13 +94,35 @@ public class MarketNewsBatchService {
         this.newsDataProviders = newsDataProviders;
         this.fxRateProvider = fxRateProvider;
         this.runtimeConfigService = runtimeConfigService;
+        this.latestQuoteIndex = latestQuoteIndex;
+        this.asOfPriceService = asOfPriceService;
+        this.marketFragmentService = marketFragmentService;
+        this.cacheRefreshAheadService = cacheRefreshAheadService;
+        this.jobCoordinator = jobCoordinator;
+        this.latestQuoteBroadcaster = latestQuoteBroadcaster;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmLatestQuoteIndex() {
+        try {
+            int warmed = repository.warmLatestQuoteIndex();
+            log.info("latest quote index warmed: assets={}", warmed);
+        } catch (Exception ex) {
+            log.warn("latest quote index warm-up failed, falling back to lazy warm-up", ex);
+        }
     }
 
     @Scheduled(
             fixedDelayString = "${app.batch.market-refresh-ms:300000}",
             initialDelayString = "${app.batch.initial-delay-ms:45000}")
     public void refreshMarketSnapshot() {
-        refreshMarketSnapshotInternal(false);
+        boolean ran = jobCoordinator.runExclusive(
+                "MARKET_SNAPSHOT",
+                Duration.ofMillis(marketRefreshMs),
+                () -> refreshMarketSnapshotInternal(false));
+        if (!ran) {
+            resyncLatestQuoteIndex();
+        }
     }
 
     public void refreshMarketSnapshotNow() {
@@ -142,6 +191,9 @@ public class MarketNewsBatchService {
             }
 
             repository.batchUpsertDailyCandles(commands);
+            boolean targetedEviction = latestQuoteIndex.isWarm();
+            Set<Long> changedAssetIds = targetedEviction ? findChangedAssetIds(commands) : Set.of();
+            publishLatestQuotes(commands);
             if (externalUsed > 0) {
                 sourceKey = "EXTERNAL_" + String.join("+", providerKeys);
             } else {
@@ -158,7 +210,12 @@ public class MarketNewsBatchService {
                     null,
                     startedAt,
                     finishedAt);
-            cacheEvictService.evictMarketDrivenCaches();
+            marketFragmentService.refreshTopMovers();
+            if (evictMarketCaches(targetedEviction, changedAssetIds)) {
+                cacheRefreshAheadService.refreshActiveUsersAffectedBy(changedAssetIds);
+            } else {
+                cacheRefreshAheadService.refreshActiveUsers();
+            }
             log.info(
                     "market batch finished: source={}, records={}, externalUsed={}, usdKrw={}, providers={}, manual={}",
                     sourceKey,
@@ -186,7 +243,10 @@ public class MarketNewsBatchService {
             fixedDelayString = "${app.batch.news-refresh-ms:420000}",
             initialDelayString = "${app.batch.initial-delay-ms:45000}")
     public void refreshNewsSentiment() {
-        refreshNewsSentimentInternal(false);
+        jobCoordinator.runExclusive(
+                "NEWS_SENTIMENT_REFRESH",
+                Duration.ofMillis(newsRefreshMs),
+                () -> refreshNewsSentimentInternal(false));
     }
 
     public void refreshNewsSentimentNow() {
@@ -268,6 +328,7 @@ public class MarketNewsBatchService {
                     null,
                     startedAt,
                     finishedAt);
+            marketFragmentService.refreshSentiment();
             cacheEvictService.evictNewsDrivenCaches();
             log.info(
                     "news batch finished: source={}, generated={}, providers={}, prioritizedAssets={}, manual={}",
@@ -331,6 +392,97 @@ public class MarketNewsBatchService {
                 asset.currency());
     }
 
+    private void resyncLatestQuoteIndex() {
+        try {
+            int synced = repository.warmLatestQuoteIndex();
+            asOfPriceService.applyAll(latestQuoteIndex.values());
+            log.debug("latest quote index re-synced from lease holder's batch: assets={}", synced);
+        } catch (Exception ex) {
+            log.warn("latest quote index re-sync failed", ex);
+        }
+    }
+
+    private Set<Long> findChangedAssetIds(List<CandleUpsertCommand> commands) {
+        Set<Long> changedAssetIds = new HashSet<>();
+        for (CandleUpsertCommand command : commands) {
+            Quote previous = latestQuoteIndex.get(command.assetId());
+            if (previous == null || command.candleTime().isAfter(previous.candleTime())) {
+                changedAssetIds.add(command.assetId());
+            } else if (command.candleTime().isEqual(previous.candleTime())
+                    && (command.closePrice().compareTo(previous.closePrice()) != 0
+                            || command.openPrice().compareTo(previous.openPrice()) != 0)) {
+                changedAssetIds.add(command.assetId());
+            }
+        }
+        return changedAssetIds;
+    }
+
+    private boolean evictMarketCaches(boolean targetedEviction, Set<Long> changedAssetIds) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        if (!targetedEviction) {
+            cacheEvictService.evictMarketDrivenCaches();
+            repository.insertIngestionJob(
+                    "MARKET_CACHE_EVICT",
+                    "FULL_CLEAR",
+                    0,
+                    0,
+                    "SUCCEEDED",
+                    null,
+                    startedAt,
+                    LocalDateTime.now());
+            return false;
+        }
+        try {
+            MarketEvictionResult result = cacheEvictService.evictForChangedAssets(changedAssetIds);
+            repository.insertIngestionJob(
+                    "MARKET_CACHE_EVICT",
+                    "TARGETED",
+                    result.changedAssets(),
+                    result.evictedKeys(),
+                    "SUCCEEDED",
+                    null,
+                    startedAt,
+                    LocalDateTime.now());
+            log.info(
+                    "market cache eviction finished: changedAssets={}, affectedUsers={}, evictedKeys={}",
+                    result.changedAssets(),
+                    result.affectedUsers(),
+                    result.evictedKeys());
+            return true;
+        } catch (Exception ex) {
+            cacheEvictService.evictMarketDrivenCaches();
+            repository.insertIngestionJob(
+                    "MARKET_CACHE_EVICT",
+                    "FULL_CLEAR",
+                    changedAssetIds.size(),
+                    0,
+                    "FAILED",
+                    ex.getMessage(),
+                    startedAt,
+                    LocalDateTime.now());
+            log.warn("targeted market cache eviction failed, cleared market caches instead", ex);
+            return false;
+        }
+    }
+
+    private void publishLatestQuotes(List<CandleUpsertCommand> commands) {
+        List<Quote> quotes = commands.stream()
+                .map(command -> new Quote(
+                        command.assetId(),
+                        command.candleTime(),
+                        command.openPrice(),
+                        command.closePrice(),
+                        command.volume()))
+                .toList();
+        asOfPriceService.applyAll(quotes);
+        if (!latestQuoteIndex.isWarm()) {
+            repository.warmLatestQuoteIndex();
+        } else {
+            latestQuoteIndex.applyAll(quotes);
+        }
+        latestQuoteBroadcaster.publishApplied(quotes);
+    }
+
     private String batchMessage(String key, String defaultValue) {
         return runtimeConfigService.getString(RuntimeConfigService.GROUP_MARKET_BATCH_MESSAGE, key, defaultValue);
     }
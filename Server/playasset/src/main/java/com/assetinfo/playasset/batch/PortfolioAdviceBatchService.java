@@ -0,0 +1,125 @@
+package com.assetinfo.playasset.batch;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository;
+import com.assetinfo.playasset.api.v1.service.PlatformService;
+import com.assetinfo.playasset.api.v1.service.RuntimeConfigService;
+
+@Component
+public class PortfolioAdviceBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioAdviceBatchService.class);
+    private static final String JOB_KEY = "PORTFOLIO_ADVICE_PRECOMPUTE";
+    private static final Duration CRON_JOB_HOLD = Duration.ofHours(1);
+
+    private final PlatformQueryRepository repository;
+    private final PlatformService platformService;
+    private final RuntimeConfigService runtimeConfigService;
+    private final ExecutorService virtualThreadExecutor;
+    private final BatchJobCoordinator jobCoordinator;
+
+    public PortfolioAdviceBatchService(
+            PlatformQueryRepository repository,
+            PlatformService platformService,
+            RuntimeConfigService runtimeConfigService,
+            ExecutorService virtualThreadExecutor,
+            BatchJobCoordinator jobCoordinator) {
+        this.repository = repository;
+        this.platformService = platformService;
+        this.runtimeConfigService = runtimeConfigService;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.jobCoordinator = jobCoordinator;
+    }
+
+    @Scheduled(
+            cron = "${app.batch.advice-precompute-cron:0 40 6 * * *}",
+            zone = "${app.batch.zone:Asia/Seoul}")
+    public void precomputePortfolioAdvice() {
+        jobCoordinator.runExclusive(JOB_KEY, CRON_JOB_HOLD, this::precomputePortfolioAdviceInternal);
+    }
+
+    private void precomputePortfolioAdviceInternal(BatchLease lease) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            int parallelism = Math.max(1, Math.min(32, batchRuleInt("advice.parallelism", 4)));
+            int permitCount = jobCoordinator.connectionPermits(parallelism, 1);
+
+            List<Long> userIds = repository.findUsersWithOpenPositions();
+            Semaphore permits = new Semaphore(permitCount);
+            List<CompletableFuture<Boolean>> tasks = new ArrayList<>(userIds.size());
+            for (Long userId : userIds) {
+                tasks.add(CompletableFuture.supplyAsync(() -> refreshUser(userId, permits, lease), virtualThreadExecutor));
+            }
+            int failed = 0;
+            for (CompletableFuture<Boolean> task : tasks) {
+                if (!task.join()) {
+                    failed++;
+                }
+            }
+            lease.ensureHeld();
+
+            LocalDateTime finishedAt = LocalDateTime.now();
+            repository.insertIngestionJob(
+                    JOB_KEY,
+                    "INTERNAL",
+                    userIds.size(),
+                    userIds.size() - failed,
+                    "SUCCEEDED",
+                    failed > 0 ? "failedUsers=" + failed : null,
+                    startedAt,
+                    finishedAt);
+            log.info("portfolio advice precompute finished: users={}, failed={}, permits={}",
+                    userIds.size(), failed, permitCount);
+        } catch (Exception ex) {
+            LocalDateTime finishedAt = LocalDateTime.now();
+            repository.insertIngestionJob(
+                    JOB_KEY,
+                    "INTERNAL",
+                    0,
+                    0,
+                    "FAILED",
+                    ex.getMessage(),
+                    startedAt,
+                    finishedAt);
+            log.error("portfolio advice precompute failed", ex);
+        }
+    }
+
+    private boolean refreshUser(long userId, Semaphore permits, BatchLease lease) {
+        permits.acquireUninterruptibly();
+        try {
+            return jobCoordinator.withConnections(1, () -> refreshUser(userId, lease));
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean refreshUser(long userId, BatchLease lease) {
+        try {
+            if (lease.isLost()) {
+                return false;
+            }
+            platformService.refreshPortfolioAdvice(userId);
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("portfolio advice precompute failed: userId={}", userId, ex);
+            return false;
+        }
+    }
+
+    private int batchRuleInt(String key, int defaultValue) {
+        return runtimeConfigService.getInt(RuntimeConfigService.GROUP_BATCH_RULE, key, defaultValue);
+    }
+}
@@ -1,7 +1,19 @@
 package com.assetinfo.playasset.batch;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,66 +21,250 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import com.assetinfo.playasset.analytics.HoldingVector;
+import com.assetinfo.playasset.analytics.PriceMatrix;
 import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository;
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.BatchCheckpoint;
 import com.assetinfo.playasset.api.v1.service.PlatformCacheEvictService;
 import com.assetinfo.playasset.api.v1.service.PlatformService;
+import com.assetinfo.playasset.api.v1.service.RuntimeConfigService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Component
 public class PortfolioSimulationBatchService {
 
     private static final Logger log = LoggerFactory.getLogger(PortfolioSimulationBatchService.class);
+    private static final String JOB_KEY = "PORTFOLIO_SIMULATION_CACHE";
 
     private final PlatformQueryRepository repository;
     private final PlatformService platformService;
     private final PlatformCacheEvictService cacheEvictService;
+    private final RuntimeConfigService runtimeConfigService;
+    private final ExecutorService virtualThreadExecutor;
+    private final BatchJobCoordinator jobCoordinator;
+    private final Timer userSucceededTimer;
+    private final Timer userFailedTimer;
 
     @Value("${app.batch.simulator-lookback-days:730}")
     private int lookbackDays;
 
+    @Value("${app.batch.simulator-refresh-ms:21600000}")
+    private long refreshMs;
+
     public PortfolioSimulationBatchService(
             PlatformQueryRepository repository,
             PlatformService platformService,
-            PlatformCacheEvictService cacheEvictService) {
+            PlatformCacheEvictService cacheEvictService,
+            RuntimeConfigService runtimeConfigService,
+            ExecutorService virtualThreadExecutor,
+            BatchJobCoordinator jobCoordinator,
+            MeterRegistry meterRegistry) {
         this.repository = repository;
         this.platformService = platformService;
         this.cacheEvictService = cacheEvictService;
+        this.runtimeConfigService = runtimeConfigService;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.jobCoordinator = jobCoordinator;
+        this.userSucceededTimer = userTimer(meterRegistry, "success");
+        this.userFailedTimer = userTimer(meterRegistry, "failure");
     }
 
     @Scheduled(
             fixedDelayString = "${app.batch.simulator-refresh-ms:21600000}",
             initialDelayString = "${app.batch.initial-delay-ms:45000}")
     public void refreshPortfolioSimulationCache() {
+        int shardCount = Math.max(1, Math.min(256, batchRuleInt("simulation.shard_count", 8)));
+        AtomicReference<RunInputs> inputs = new AtomicReference<>();
+        int claimed = jobCoordinator.runClaimedShards(
+                JOB_KEY,
+                shardCount,
+                Duration.ofMillis(refreshMs),
+                (shard, lease) -> refreshShard(shard, shardCount, inputs, lease));
+        if (claimed > 0) {
+            cacheEvictService.evictSimulationCaches();
+        }
+        log.info("simulation cache batch node finished: node={}, claimedShards={}/{}",
+                jobCoordinator.nodeId(), claimed, shardCount);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.batch.shard-reclaim-ms:60000}",
+            initialDelayString = "${app.batch.initial-delay-ms:45000}")
+    public void reclaimExpiredSimulationShards() {
+        int shardCount = Math.max(1, Math.min(256, batchRuleInt("simulation.shard_count", 8)));
+        AtomicReference<RunInputs> inputs = new AtomicReference<>();
+        int reclaimed = jobCoordinator.reclaimExpiredShards(
+                JOB_KEY,
+                shardCount,
+                Duration.ofMillis(refreshMs),
+                (shard, lease) -> refreshShard(shard, shardCount, inputs, lease));
+        if (reclaimed > 0) {
+            cacheEvictService.evictSimulationCaches();
+        }
+    }
+
+    private void refreshShard(int shard, int shardCount, AtomicReference<RunInputs> inputsRef, BatchLease lease) {
         LocalDateTime startedAt = LocalDateTime.now();
+        String checkpointKey = BatchJobCoordinator.shardKey(JOB_KEY, shard, shardCount);
+        String sourceKey = "SHARD_" + shard + "/" + shardCount;
         try {
-            List<Long> userIds = repository.findUsersWithOpenPositions();
-            int records = 0;
-            for (Long userId : userIds) {
-                records += platformService.rebuildSimulationCacheForUser(userId, lookbackDays);
+            int parallelism = Math.max(1, Math.min(64, batchRuleInt("simulation.parallelism", 8)));
+            int permitCount = jobCoordinator.connectionPermits(parallelism, 1);
+            int chunkSize = Math.max(permitCount, batchRuleInt("simulation.chunk_size", 64));
+
+            BatchCheckpoint checkpoint = repository.findBatchCheckpoint(checkpointKey);
+            long resumeAfterUserId = 0;
+            int processed = 0;
+            int failed = 0;
+            if (checkpoint != null && "RUNNING".equals(checkpoint.status())) {
+                resumeAfterUserId = checkpoint.lastUserId();
+                processed = checkpoint.processedCount();
+                failed = checkpoint.failedCount();
+                log.info("simulation cache shard resuming: shard={}, afterUserId={}, processed={}, failed={}",
+                        checkpointKey, resumeAfterUserId, processed, failed);
+            } else {
+                repository.startBatchCheckpoint(checkpointKey, startedAt);
             }
+
+            RunInputs inputs = loadInputs(inputsRef);
+            long resumeAfter = resumeAfterUserId;
+            List<Long> userIds = inputs.userIds().stream()
+                    .filter(userId -> Math.floorMod(userId, shardCount) == shard)
+                    .filter(userId -> userId > resumeAfter)
+                    .toList();
+
+            Semaphore permits = new Semaphore(permitCount);
+            AtomicInteger records = new AtomicInteger();
+            for (int from = 0; from < userIds.size(); from += chunkSize) {
+                lease.ensureHeld();
+                List<Long> chunk = userIds.subList(from, Math.min(from + chunkSize, userIds.size()));
+                List<CompletableFuture<Boolean>> tasks = new ArrayList<>(chunk.size());
+                for (Long userId : chunk) {
+                    tasks.add(CompletableFuture.supplyAsync(
+                            () -> rebuildUser(userId, inputs.prices(), inputs.holdings().get(userId), permits, records, lease),
+                            virtualThreadExecutor));
+                }
+                int chunkFailed = 0;
+                for (CompletableFuture<Boolean> task : tasks) {
+                    if (!task.join()) {
+                        chunkFailed++;
+                    }
+                }
+                lease.ensureHeld();
+                repository.advanceBatchCheckpoint(
+                        checkpointKey,
+                        chunk.get(chunk.size() - 1),
+                        chunk.size() - chunkFailed,
+                        chunkFailed);
+                processed += chunk.size() - chunkFailed;
+                failed += chunkFailed;
+            }
+            lease.ensureHeld();
+            repository.completeBatchCheckpoint(checkpointKey);
+
             LocalDateTime finishedAt = LocalDateTime.now();
             repository.insertIngestionJob(
                     "PORTFOLIO_SIMULATION_CACHE",
-                    "INTERNAL",
-                    userIds.size(),
-                    records,
+                    sourceKey,
+                    processed + failed,
+                    records.get(),
                     "SUCCEEDED",
-                    null,
+                    failed > 0 ? "failedUsers=" + failed : null,
                     startedAt,
                     finishedAt);
-            cacheEvictService.evictSimulationCaches();
-            log.info("simulation cache batch finished: users={}, records={}", userIds.size(), records);
+            log.info("simulation cache shard finished: shard={}, users={}, failed={}, records={}, permits={}",
+                    checkpointKey, processed + failed, failed, records.get(), permitCount);
         } catch (Exception ex) {
             LocalDateTime finishedAt = LocalDateTime.now();
             repository.insertIngestionJob(
                     "PORTFOLIO_SIMULATION_CACHE",
-                    "INTERNAL",
+                    sourceKey,
                     0,
                     0,
                     "FAILED",
                     ex.getMessage(),
                     startedAt,
                     finishedAt);
-            log.error("simulation cache batch failed", ex);
+            log.error("simulation cache shard failed: shard={}", checkpointKey, ex);
+        }
+    }
+
+    private RunInputs loadInputs(AtomicReference<RunInputs> inputsRef) {
+        RunInputs inputs = inputsRef.get();
+        if (inputs != null) {
+            return inputs;
+        }
+        LocalDate today = LocalDate.now();
+        Map<Long, HoldingVector> holdings = repository.loadOpenHoldingVectors();
+        Set<Long> heldAssetIds = new TreeSet<>();
+        for (HoldingVector vector : holdings.values()) {
+            for (int i = 0; i < vector.size(); i++) {
+                heldAssetIds.add(vector.assetId(i));
+            }
+        }
+        PriceMatrix prices = repository.loadDailyClosePriceMatrix(
+                heldAssetIds,
+                today.minusDays(Math.max(lookbackDays, 30)),
+                today);
+        inputs = new RunInputs(repository.findUsersWithOpenPositions(), prices, holdings);
+        inputsRef.set(inputs);
+        log.info("simulation price matrix loaded: assets={}, days={}, holders={}",
+                prices.assetCount(), prices.days(), holdings.size());
+        return inputs;
+    }
+
+    private boolean rebuildUser(
+            long userId,
+            PriceMatrix prices,
+            HoldingVector holdings,
+            Semaphore permits,
+            AtomicInteger records,
+            BatchLease lease) {
+        permits.acquireUninterruptibly();
+        try {
+            return jobCoordinator.withConnections(1, () -> rebuildUser(userId, prices, holdings, records, lease));
+        } finally {
+            permits.release();
         }
     }
+
+    private boolean rebuildUser(
+            long userId,
+            PriceMatrix prices,
+            HoldingVector holdings,
+            AtomicInteger records,
+            BatchLease lease) {
+        long startedAt = System.nanoTime();
+        try {
+            if (lease.isLost()) {
+                return false;
+            }
+            records.addAndGet(holdings == null
+                    ? platformService.rebuildSimulationCacheForUser(userId, lookbackDays)
+                    : platformService.rebuildSimulationCacheForUser(userId, lookbackDays, prices, holdings));
+            userSucceededTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (RuntimeException ex) {
+            userFailedTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            log.warn("simulation rebuild failed: userId={}", userId, ex);
+            return false;
+        }
+    }
+
+    private int batchRuleInt(String key, int defaultValue) {
+        return runtimeConfigService.getInt(RuntimeConfigService.GROUP_BATCH_RULE, key, defaultValue);
+    }
+
+    private static Timer userTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("playasset.batch.simulation.user")
+                .description("Per-user portfolio simulation rebuild duration")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record RunInputs(List<Long> userIds, PriceMatrix prices, Map<Long, HoldingVector> holdings) {
+    }
 }
@@ -1,5 +1,6 @@
 package com.assetinfo.playasset.batch;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -19,25 +20,29 @@ import com.assetinfo.playasset.batch.provider.SymbolCatalogProvider.SymbolCatalo
 public class SymbolCatalogBatchService {
 
     private static final Logger log = LoggerFactory.getLogger(SymbolCatalogBatchService.class);
+    private static final Duration CRON_JOB_HOLD = Duration.ofHours(1);
 
     private final PlatformQueryRepository repository;
     private final SymbolCatalogProvider symbolCatalogProvider;
     private final PaidServiceQuotaService quotaService;
+    private final BatchJobCoordinator jobCoordinator;
 
     public SymbolCatalogBatchService(
             PlatformQueryRepository repository,
             SymbolCatalogProvider symbolCatalogProvider,
-            PaidServiceQuotaService quotaService) {
+            PaidServiceQuotaService quotaService,
+            BatchJobCoordinator jobCoordinator) {
         this.repository = repository;
         this.symbolCatalogProvider = symbolCatalogProvider;
         this.quotaService = quotaService;
+        this.jobCoordinator = jobCoordinator;
     }
 
     @Scheduled(
             cron = "${app.batch.symbol-sync-cron:0 30 7,20 * * *}",
             zone = "${app.batch.zone:Asia/Seoul}")
     public void syncSymbolCatalog() {
-        syncSymbolCatalogInternal(false);
+        jobCoordinator.runExclusive("SYMBOL_CATALOG_SYNC", CRON_JOB_HOLD, () -> syncSymbolCatalogInternal(false));
     }
 
     public int syncSymbolCatalogNow(int maxSymbols) {
@@ -7,12 +7,13 @@ public final class CacheNames {
     public static final String WATCHLIST = "watchlist";
     public static final String ALERTS = "alerts";
     public static final String ALERT_PREFERENCES = "alertPreferences";
+    public static final String MARKET_SENTIMENT = "marketSentiment";
+    public static final String TOP_MOVERS = "topMovers";
     public static final String PORTFOLIO_ADVICE = "portfolioAdvice";
     public static final String PORTFOLIO_SIMULATION = "portfolioSimulation";
     public static final String INVESTMENT_PROFILE = "investmentProfile";
     public static final String LLM_PROMPT_TEMPLATE = "llmPromptTemplate";
     public static final String LLM_PROMPT_PAYLOAD = "llmPromptPayload";
-    public static final String RUNTIME_CONFIG = "runtimeConfig";
     public static final String EXTERNAL_MARKET_API = "externalMarketApi";
     public static final String EXTERNAL_NEWS_API = "externalNewsApi";
 
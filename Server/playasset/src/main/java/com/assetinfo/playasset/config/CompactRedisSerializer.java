@@ -0,0 +1,90 @@
+package com.assetinfo.playasset.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte FORMAT_PLAIN = 1;
+    private static final byte FORMAT_DEFLATE = 2;
+
+    private final ObjectMapper mapper;
+    private final int compressionThresholdBytes;
+
+    public CompactRedisSerializer(int compressionThresholdBytes) {
+        this.mapper = new ObjectMapper(new SmileFactory());
+        this.mapper.activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder()
+                        .allowIfSubType("com.assetinfo.playasset.")
+                        .allowIfSubType("java.util.")
+                        .allowIfSubType("java.lang.")
+                        .allowIfSubType("java.math.")
+                        .build(),
+                ObjectMapper.DefaultTyping.EVERYTHING,
+                JsonTypeInfo.As.PROPERTY);
+        this.mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.compressionThresholdBytes = compressionThresholdBytes;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            byte[] payload = mapper.writeValueAsBytes(value);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(
+                    payload.length < compressionThresholdBytes ? payload.length + 1 : payload.length / 3 + 16);
+            if (payload.length < compressionThresholdBytes) {
+                out.write(FORMAT_PLAIN);
+                out.write(payload);
+                return out.toByteArray();
+            }
+            out.write(FORMAT_DEFLATE);
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater)) {
+                deflaterOut.write(payload);
+            } finally {
+                deflater.end();
+            }
+            return out.toByteArray();
+        } catch (IOException ex) {
+            throw new SerializationException("Could not write compact cache value", ex);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return switch (bytes[0]) {
+                case FORMAT_PLAIN -> mapper.readValue(bytes, 1, bytes.length - 1, Object.class);
+                case FORMAT_DEFLATE -> {
+                    try (InputStream in = new InflaterInputStream(
+                            new ByteArrayInputStream(bytes, 1, bytes.length - 1))) {
+                        yield mapper.readValue(in, Object.class);
+                    }
+                }
+                default -> throw new SerializationException("Unknown compact cache value format: " + bytes[0]);
+            };
+        } catch (IOException ex) {
+            throw new SerializationException("Could not read compact cache value", ex);
+        }
+    }
+}
@@ -3,28 +3,47 @@ package com.assetinfo.playasset.config;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import com.assetinfo.playasset.api.v1.service.RuntimeConfigService;
+import com.assetinfo.playasset.batch.LatestQuoteBroadcaster;
+import com.assetinfo.playasset.config.TwoTierCacheManager.NearCacheSpec;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 public class RedisCacheConfig {
 
+    private static final Set<String> COMPACT_VALUE_CACHES = Set.of(
+            CacheNames.PORTFOLIO_ADVICE,
+            CacheNames.PORTFOLIO_SIMULATION);
+
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public TwoTierCacheManager cacheManager(
+            RedisConnectionFactory connectionFactory,
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry) {
         RedisCacheConfiguration baseConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .disableCachingNullValues()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new GenericJackson2JsonRedisSerializer()))
-                .computePrefixWith(cacheName -> "playasset:" + cacheName + "::")
+                .computePrefixWith(RedisCacheConfig::keyPrefix)
                 .entryTtl(Duration.ofSeconds(120));
+        RedisCacheConfiguration compactConfig = baseConfig.serializeValuesWith(RedisSerializationContext.SerializationPair
+                .fromSerializer(new CompactRedisSerializer(2048)));
 
         Map<String, RedisCacheConfiguration> cacheConfigs = new HashMap<>();
         cacheConfigs.put(CacheNames.DASHBOARD, baseConfig.entryTtl(Duration.ofSeconds(45)));
@@ -32,19 +51,63 @@ public class RedisCacheConfig {
         cacheConfigs.put(CacheNames.WATCHLIST, baseConfig.entryTtl(Duration.ofSeconds(90)));
         cacheConfigs.put(CacheNames.ALERTS, baseConfig.entryTtl(Duration.ofSeconds(30)));
         cacheConfigs.put(CacheNames.ALERT_PREFERENCES, baseConfig.entryTtl(Duration.ofMinutes(3)));
-        cacheConfigs.put(CacheNames.PORTFOLIO_ADVICE, baseConfig.entryTtl(Duration.ofMinutes(5)));
-        cacheConfigs.put(CacheNames.PORTFOLIO_SIMULATION, baseConfig.entryTtl(Duration.ofMinutes(10)));
+        cacheConfigs.put(CacheNames.MARKET_SENTIMENT, baseConfig.entryTtl(Duration.ofMinutes(30)));
+        cacheConfigs.put(CacheNames.TOP_MOVERS, baseConfig.entryTtl(Duration.ofMinutes(30)));
+        cacheConfigs.put(CacheNames.PORTFOLIO_ADVICE, compactConfig.entryTtl(Duration.ofMinutes(5)));
+        cacheConfigs.put(CacheNames.PORTFOLIO_SIMULATION, compactConfig.entryTtl(Duration.ofMinutes(10)));
         cacheConfigs.put(CacheNames.INVESTMENT_PROFILE, baseConfig.entryTtl(Duration.ofMinutes(30)));
         cacheConfigs.put(CacheNames.LLM_PROMPT_TEMPLATE, baseConfig.entryTtl(Duration.ofHours(1)));
         cacheConfigs.put(CacheNames.LLM_PROMPT_PAYLOAD, baseConfig.entryTtl(Duration.ofMinutes(15)));
-        cacheConfigs.put(CacheNames.RUNTIME_CONFIG, baseConfig.entryTtl(Duration.ofMinutes(10)));
         cacheConfigs.put(CacheNames.EXTERNAL_MARKET_API, baseConfig.entryTtl(Duration.ofSeconds(30)));
         cacheConfigs.put(CacheNames.EXTERNAL_NEWS_API, baseConfig.entryTtl(Duration.ofMinutes(5)));
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(baseConfig)
                 .withInitialCacheConfigurations(cacheConfigs)
-                .transactionAware()
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        Map<String, NearCacheSpec> nearCacheSpecs = new HashMap<>();
+        nearCacheSpecs.put(CacheNames.DASHBOARD, new NearCacheSpec(10_000, Duration.ofSeconds(15)));
+        nearCacheSpecs.put(CacheNames.POSITIONS, new NearCacheSpec(10_000, Duration.ofSeconds(15)));
+        nearCacheSpecs.put(CacheNames.WATCHLIST, new NearCacheSpec(10_000, Duration.ofSeconds(30)));
+        nearCacheSpecs.put(CacheNames.ALERTS, new NearCacheSpec(5_000, Duration.ofSeconds(10)));
+        nearCacheSpecs.put(CacheNames.ALERT_PREFERENCES, new NearCacheSpec(10_000, Duration.ofMinutes(1)));
+        nearCacheSpecs.put(CacheNames.MARKET_SENTIMENT, new NearCacheSpec(4, Duration.ofMinutes(5)));
+        nearCacheSpecs.put(CacheNames.TOP_MOVERS, new NearCacheSpec(4, Duration.ofMinutes(5)));
+        nearCacheSpecs.put(CacheNames.PORTFOLIO_ADVICE, new NearCacheSpec(5_000, Duration.ofMinutes(1)));
+        nearCacheSpecs.put(CacheNames.PORTFOLIO_SIMULATION, new NearCacheSpec(2_000, Duration.ofMinutes(2)));
+        nearCacheSpecs.put(CacheNames.INVESTMENT_PROFILE, new NearCacheSpec(10_000, Duration.ofMinutes(5)));
+        nearCacheSpecs.put(CacheNames.LLM_PROMPT_TEMPLATE, new NearCacheSpec(256, Duration.ofMinutes(10)));
+        nearCacheSpecs.put(CacheNames.LLM_PROMPT_PAYLOAD, new NearCacheSpec(2_000, Duration.ofMinutes(5)));
+
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(
+                redisCacheManager,
+                nearCacheSpecs,
+                redisTemplate,
+                meterRegistry);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TwoTierCacheManager cacheManager,
+            RuntimeConfigService runtimeConfigService,
+            LatestQuoteBroadcaster latestQuoteBroadcaster) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoTierCacheManager.INVALIDATION_CHANNEL));
+        container.addMessageListener(runtimeConfigService, new ChannelTopic(RuntimeConfigService.CHANGE_CHANNEL));
+        container.addMessageListener(latestQuoteBroadcaster, new ChannelTopic(LatestQuoteBroadcaster.CHANGE_CHANNEL));
+        return container;
+    }
+
+    public static String keyPrefix(String cacheName) {
+        if (COMPACT_VALUE_CACHES.contains(cacheName)) {
+            return "playasset:" + cacheName + ":smile::";
+        }
+        return "playasset:" + cacheName + "::";
     }
 }
@@ -0,0 +1,249 @@
+package com.assetinfo.playasset.config;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+public class TwoTierCache implements Cache {
+
+    private final Cache redisCache;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final TwoTierCacheManager owner;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder localMisses = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+
+    TwoTierCache(Cache redisCache, TwoTierCacheManager.NearCacheSpec spec, TwoTierCacheManager owner) {
+        this.redisCache = redisCache;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(spec.maximumSize())
+                .expireAfterWrite(spec.ttl())
+                .build();
+        this.owner = owner;
+    }
+
+    @Override
+    public String getName() {
+        return redisCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object local = localCache.getIfPresent(localKey);
+        if (local != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(local);
+        }
+        localMisses.increment();
+
+        ValueWrapper remote = redisCache.get(key);
+        if (remote == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        if (remote.get() != null) {
+            localCache.put(localKey, remote.get());
+        }
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        String localKey = localKey(key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(localKey, flight);
+        if (existing != null) {
+            return (T) awaitInFlight(key, existing, valueLoader);
+        }
+        try {
+            Object value = loadSingleFlight(key, localKey, valueLoader);
+            flight.complete(value);
+            return (T) value;
+        } catch (RuntimeException ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(localKey, flight);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String localKey = localKey(key);
+        redisCache.put(key, value);
+        if (value == null) {
+            localCache.invalidate(localKey);
+        } else {
+            localCache.put(localKey, value);
+        }
+        owner.publishEvict(getName(), localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        String localKey = localKey(key);
+        ValueWrapper existing = redisCache.putIfAbsent(key, value);
+        localCache.invalidate(localKey);
+        owner.publishEvict(getName(), localKey);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        redisCache.evict(key);
+        localCache.invalidate(localKey);
+        owner.publishEvict(getName(), localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        String localKey = localKey(key);
+        boolean evicted = redisCache.evictIfPresent(key);
+        localCache.invalidate(localKey);
+        owner.publishEvict(getName(), localKey);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        redisCache.clear();
+        localCache.invalidateAll();
+        owner.publishClear(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = redisCache.invalidate();
+        localCache.invalidateAll();
+        owner.publishClear(getName());
+        return invalidated;
+    }
+
+    void evictLocal(String localKey) {
+        localCache.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    long localHitCount() {
+        return localHits.sum();
+    }
+
+    long localMissCount() {
+        return localMisses.sum();
+    }
+
+    long remoteHitCount() {
+        return remoteHits.sum();
+    }
+
+    long remoteMissCount() {
+        return remoteMisses.sum();
+    }
+
+    private Object awaitInFlight(Object key, CompletableFuture<Object> flight, Callable<?> valueLoader) {
+        try {
+            return flight.get(TwoTierCacheManager.LOCK_WAIT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            return load(key, valueLoader);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    private Object loadSingleFlight(Object key, String localKey, Callable<?> valueLoader) {
+        long deadline = System.nanoTime() + TwoTierCacheManager.LOCK_WAIT_TIMEOUT.toNanos();
+        while (true) {
+            String token = owner.tryLock(getName(), localKey);
+            if (token != null) {
+                try {
+                    ValueWrapper ready = redisCache.get(key);
+                    if (ready != null && ready.get() != null) {
+                        localCache.put(localKey, ready.get());
+                        return ready.get();
+                    }
+                    return load(key, valueLoader);
+                } finally {
+                    owner.unlock(getName(), localKey, token);
+                }
+            }
+            if (System.nanoTime() >= deadline) {
+                return load(key, valueLoader);
+            }
+            try {
+                Thread.sleep(TwoTierCacheManager.LOCK_POLL_INTERVAL.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ValueRetrievalException(key, valueLoader, ex);
+            }
+            ValueWrapper remote = redisCache.get(key);
+            if (remote != null && remote.get() != null) {
+                localCache.put(localKey, remote.get());
+                return remote.get();
+            }
+        }
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
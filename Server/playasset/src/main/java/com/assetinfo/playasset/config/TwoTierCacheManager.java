@@ -0,0 +1,182 @@
+package com.assetinfo.playasset.config;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class TwoTierCacheManager extends AbstractTransactionSupportingCacheManager implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "playasset:cache:invalidation";
+
+    static final Duration LOCK_TTL = Duration.ofSeconds(15);
+    static final Duration LOCK_WAIT_TIMEOUT = Duration.ofSeconds(5);
+    static final Duration LOCK_POLL_INTERVAL = Duration.ofMillis(50);
+
+    private static final Logger log = LoggerFactory.getLogger(TwoTierCacheManager.class);
+    private static final String ACTION_EVICT = "EVICT";
+    private static final String ACTION_CLEAR = "CLEAR";
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisCacheManager redisCacheManager;
+    private final Map<String, NearCacheSpec> nearCacheSpecs;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> twoTierCaches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(
+            RedisCacheManager redisCacheManager,
+            Map<String, NearCacheSpec> nearCacheSpecs,
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry) {
+        this.redisCacheManager = redisCacheManager;
+        this.nearCacheSpecs = Map.copyOf(nearCacheSpecs);
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>();
+        for (String cacheName : redisCacheManager.getCacheNames()) {
+            Cache redisCache = redisCacheManager.getCache(cacheName);
+            if (redisCache != null) {
+                caches.add(layer(redisCache));
+            }
+        }
+        return caches;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache redisCache = redisCacheManager.getCache(name);
+        return redisCache == null ? null : layer(redisCache);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoTierCache cache = twoTierCaches.get(parts[2]);
+        if (cache == null) {
+            return;
+        }
+        if (ACTION_CLEAR.equals(parts[1])) {
+            cache.clearLocal();
+        } else if (ACTION_EVICT.equals(parts[1])) {
+            cache.evictLocal(parts[3]);
+        }
+    }
+
+    void publishEvict(String cacheName, String localKey) {
+        publish(ACTION_EVICT, cacheName, localKey);
+    }
+
+    void publishClear(String cacheName) {
+        publish(ACTION_CLEAR, cacheName, "");
+    }
+
+    String tryLock(String cacheName, String localKey) {
+        String token = nodeId + ":" + UUID.randomUUID();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(lockKey(cacheName, localKey), token, LOCK_TTL);
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (RuntimeException ex) {
+            log.warn("cache single-flight lock unavailable, loading locally: cache={}", cacheName, ex);
+            return token;
+        }
+    }
+
+    void unlock(String cacheName, String localKey, String token) {
+        try {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(lockKey(cacheName, localKey)), token);
+        } catch (RuntimeException ex) {
+            log.warn("cache single-flight unlock failed: cache={}", cacheName, ex);
+        }
+    }
+
+    private static String lockKey(String cacheName, String localKey) {
+        return "playasset:lock:" + cacheName + "::" + localKey;
+    }
+
+    private void publish(String action, String cacheName, String localKey) {
+        try {
+            redisTemplate.convertAndSend(
+                    INVALIDATION_CHANNEL,
+                    nodeId + "|" + action + "|" + cacheName + "|" + localKey);
+        } catch (RuntimeException ex) {
+            log.warn("cache invalidation broadcast failed: cache={}, action={}", cacheName, action, ex);
+        }
+    }
+
+    private Cache layer(Cache redisCache) {
+        NearCacheSpec spec = nearCacheSpecs.get(redisCache.getName());
+        if (spec == null) {
+            return redisCache;
+        }
+        return twoTierCaches.computeIfAbsent(redisCache.getName(), name -> {
+            TwoTierCache cache = new TwoTierCache(redisCache, spec, this);
+            registerMetrics(cache);
+            return cache;
+        });
+    }
+
+    private void registerMetrics(TwoTierCache cache) {
+        registerCounter(cache, "l1", "hit", TwoTierCache::localHitCount);
+        registerCounter(cache, "l1", "miss", TwoTierCache::localMissCount);
+        registerCounter(cache, "l2", "hit", TwoTierCache::remoteHitCount);
+        registerCounter(cache, "l2", "miss", TwoTierCache::remoteMissCount);
+        registerHitRatio(cache, "l1", c -> ratio(c.localHitCount(), c.localMissCount()));
+        registerHitRatio(cache, "l2", c -> ratio(c.remoteHitCount(), c.remoteMissCount()));
+    }
+
+    private void registerCounter(TwoTierCache cache, String tier, String result, ToDoubleFunction<TwoTierCache> count) {
+        FunctionCounter.builder("playasset.cache.tier.requests", cache, count)
+                .description("Cache lookups per tier")
+                .tag("cache", cache.getName())
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private void registerHitRatio(TwoTierCache cache, String tier, ToDoubleFunction<TwoTierCache> ratio) {
+        Gauge.builder("playasset.cache.tier.hit.ratio", cache, ratio)
+                .description("Hit ratio per cache tier since startup")
+                .tag("cache", cache.getName())
+                .tag("tier", tier)
+                .register(meterRegistry);
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public record NearCacheSpec(long maximumSize, Duration ttl) {
+    }
+}
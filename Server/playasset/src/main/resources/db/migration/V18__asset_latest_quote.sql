@@ -0,0 +1,32 @@
+CREATE TABLE IF NOT EXISTS asset_latest_quote (
+  asset_id BIGINT UNSIGNED NOT NULL,
+  candle_time DATETIME NOT NULL,
+  open_price DECIMAL(20,6) NOT NULL,
+  high_price DECIMAL(20,6) NOT NULL,
+  low_price DECIMAL(20,6) NOT NULL,
+  close_price DECIMAL(20,6) NOT NULL,
+  volume DECIMAL(20,6) NOT NULL DEFAULT 0,
+  updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (asset_id),
+  CONSTRAINT fk_asset_latest_quote_asset_id FOREIGN KEY (asset_id) REFERENCES assets (asset_id)
+);
+
+INSERT INTO asset_latest_quote(asset_id, candle_time, open_price, high_price, low_price, close_price, volume)
+SELECT mc.asset_id, mc.candle_time, mc.open_price, mc.high_price, mc.low_price, mc.close_price, mc.volume
+FROM (
+  SELECT asset_id, MAX(candle_time) AS candle_time
+  FROM market_price_candles
+  WHERE interval_code = '1d'
+  GROUP BY asset_id
+) latest
+JOIN market_price_candles mc
+  ON mc.asset_id = latest.asset_id
+ AND mc.interval_code = '1d'
+ AND mc.candle_time = latest.candle_time
+ON DUPLICATE KEY UPDATE
+  candle_time = VALUES(candle_time),
+  open_price = VALUES(open_price),
+  high_price = VALUES(high_price),
+  low_price = VALUES(low_price),
+  close_price = VALUES(close_price),
+  volume = VALUES(volume);
@@ -0,0 +1,25 @@
+INSERT INTO TM_STD_CODE_MAIN(code_group_cd, code_group_nm, code_group_desc, use_yn)
+VALUES ('BATCH_RULE', '배치 운영 기준정보', '배치 후처리/캐시 선갱신 조건값 기준정보', 1)
+ON DUPLICATE KEY UPDATE
+  code_group_nm = VALUES(code_group_nm),
+  code_group_desc = VALUES(code_group_desc),
+  use_yn = VALUES(use_yn),
+  updated_at = CURRENT_TIMESTAMP;
+
+INSERT INTO TM_STD_RUNTIME_CONFIG_MAIN(
+  config_group_cd, config_key, config_name, value_type_cd, config_value, config_desc, sort_no, editable_yn, use_yn
+)
+VALUES
+  ('BATCH_RULE', 'refresh_ahead.enabled', '캐시 선갱신 사용 여부', 'NUMBER', '1', '1이면 시세 배치 후 활성 사용자 캐시를 미리 갱신', 10, 1, 1),
+  ('BATCH_RULE', 'refresh_ahead.concurrency', '캐시 선갱신 동시성', 'NUMBER', '8', '선갱신 시 동시에 계산할 사용자 수', 20, 1, 1),
+  ('BATCH_RULE', 'refresh_ahead.active_window_minutes', '활성 사용자 기준(분)', 'NUMBER', '180', '최근 N분 이내 로그인한 유효 세션 사용자를 활성 사용자로 판단', 30, 1, 1),
+  ('BATCH_RULE', 'refresh_ahead.max_users', '선갱신 최대 사용자 수', 'NUMBER', '2000', '한 번의 배치에서 선갱신할 최대 사용자 수', 40, 1, 1)
+ON DUPLICATE KEY UPDATE
+  config_name = VALUES(config_name),
+  value_type_cd = VALUES(value_type_cd),
+  config_value = VALUES(config_value),
+  config_desc = VALUES(config_desc),
+  sort_no = VALUES(sort_no),
+  editable_yn = VALUES(editable_yn),
+  use_yn = VALUES(use_yn),
+  updated_at = CURRENT_TIMESTAMP;
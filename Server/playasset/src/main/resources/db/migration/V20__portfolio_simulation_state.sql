@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS portfolio_simulation_state (
+  user_id BIGINT UNSIGNED NOT NULL,
+  holdings_hash CHAR(64) NOT NULL,
+  window_start DATE NOT NULL,
+  base_value DECIMAL(24,6) NOT NULL DEFAULT 0,
+  anchor_date DATE NULL,
+  anchor_value DECIMAL(24,6) NULL,
+  anchor_peak_value DECIMAL(24,6) NULL,
+  rebuilt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (user_id),
+  CONSTRAINT fk_portfolio_simulation_state_user_id FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
@@ -0,0 +1,27 @@
+CREATE TABLE IF NOT EXISTS batch_job_checkpoints (
+  job_key VARCHAR(64) NOT NULL,
+  status ENUM('RUNNING', 'COMPLETED') NOT NULL,
+  last_user_id BIGINT UNSIGNED NOT NULL DEFAULT 0,
+  processed_count INT NOT NULL DEFAULT 0,
+  failed_count INT NOT NULL DEFAULT 0,
+  started_at DATETIME NOT NULL,
+  updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (job_key)
+);
+
+INSERT INTO TM_STD_RUNTIME_CONFIG_MAIN(
+  config_group_cd, config_key, config_name, value_type_cd, config_value, config_desc, sort_no, editable_yn, use_yn
+)
+VALUES
+  ('BATCH_RULE', 'simulation.parallelism', '시뮬레이션 배치 병렬도', 'NUMBER', '8', '시뮬레이션 캐시 배치에서 동시에 처리할 사용자 수', 50, 1, 1),
+  ('BATCH_RULE', 'simulation.pool_reserve', '시뮬레이션 배치 커넥션 예약분', 'NUMBER', '30', 'API 요청용으로 남겨둘 DB 커넥션 수 (병렬도는 풀 크기에서 이 값을 뺀 수를 넘지 않음)', 60, 1, 1),
+  ('BATCH_RULE', 'simulation.chunk_size', '시뮬레이션 배치 체크포인트 단위', 'NUMBER', '64', '진행 상황을 저장하는 사용자 묶음 크기', 70, 1, 1)
+ON DUPLICATE KEY UPDATE
+  config_name = VALUES(config_name),
+  value_type_cd = VALUES(value_type_cd),
+  config_value = VALUES(config_value),
+  config_desc = VALUES(config_desc),
+  sort_no = VALUES(sort_no),
+  editable_yn = VALUES(editable_yn),
+  use_yn = VALUES(use_yn),
+  updated_at = CURRENT_TIMESTAMP;
@@ -0,0 +1,27 @@
+CREATE TABLE IF NOT EXISTS batch_job_leases (
+  lease_key VARCHAR(96) NOT NULL,
+  holder_id VARCHAR(128) NOT NULL,
+  acquired_at DATETIME(3) NOT NULL,
+  heartbeat_at DATETIME(3) NOT NULL,
+  lease_until DATETIME(3) NOT NULL,
+  updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (lease_key),
+  KEY idx_batch_job_leases_until (lease_until)
+);
+
+INSERT INTO TM_STD_RUNTIME_CONFIG_MAIN(
+  config_group_cd, config_key, config_name, value_type_cd, config_value, config_desc, sort_no, editable_yn, use_yn
+)
+VALUES
+  ('BATCH_RULE', 'lease.ttl_seconds', '배치 리스 유효시간(초)', 'NUMBER', '60', '하트비트가 끊긴 파드의 배치/샤드를 다른 파드가 넘겨받기까지의 시간', 80, 1, 1),
+  ('BATCH_RULE', 'lease.heartbeat_seconds', '배치 리스 하트비트 주기(초)', 'NUMBER', '15', '배치 실행 중 리스를 연장하는 주기 (유효시간보다 짧아야 함)', 90, 1, 1),
+  ('BATCH_RULE', 'simulation.shard_count', '시뮬레이션 배치 샤드 수', 'NUMBER', '8', '사용자 ID 공간을 나누어 파드들이 나눠 처리할 샤드 수', 100, 1, 1)
+ON DUPLICATE KEY UPDATE
+  config_name = VALUES(config_name),
+  value_type_cd = VALUES(value_type_cd),
+  config_value = VALUES(config_value),
+  config_desc = VALUES(config_desc),
+  sort_no = VALUES(sort_no),
+  editable_yn = VALUES(editable_yn),
+  use_yn = VALUES(use_yn),
+  updated_at = CURRENT_TIMESTAMP;
@@ -0,0 +1,14 @@
+INSERT INTO TM_STD_RUNTIME_CONFIG_MAIN(
+  config_group_cd, config_key, config_name, value_type_cd, config_value, config_desc, sort_no, editable_yn, use_yn
+)
+VALUES
+  ('SIMULATION_MESSAGE', 'simulation.error.invalid_max_points', '타임라인 포인트 수 검증 에러', 'STRING', 'maxPoints는 3에서 5000 사이로 입력해 주세요.', '시뮬레이션 스트리밍 조회 시 다운샘플링 포인트 수 검증 실패 메시지', 110, 1, 1)
+ON DUPLICATE KEY UPDATE
+  config_name = VALUES(config_name),
+  value_type_cd = VALUES(value_type_cd),
+  config_value = VALUES(config_value),
+  config_desc = VALUES(config_desc),
+  sort_no = VALUES(sort_no),
+  editable_yn = VALUES(editable_yn),
+  use_yn = VALUES(use_yn),
+  updated_at = CURRENT_TIMESTAMP;
@@ -0,0 +1,33 @@
+CREATE TABLE IF NOT EXISTS portfolio_advice_snapshots (
+  user_id BIGINT UNSIGNED NOT NULL,
+  inputs_hash CHAR(64) NOT NULL,
+  advice_json MEDIUMTEXT NOT NULL,
+  computed_at DATETIME NOT NULL,
+  updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (user_id),
+  CONSTRAINT fk_portfolio_advice_snapshots_user_id FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS portfolio_advice_input_versions (
+  user_id BIGINT UNSIGNED NOT NULL,
+  inputs_version BIGINT UNSIGNED NOT NULL DEFAULT 0,
+  updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (user_id),
+  CONSTRAINT fk_portfolio_advice_input_versions_user_id FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+INSERT INTO TM_STD_RUNTIME_CONFIG_MAIN(
+  config_group_cd, config_key, config_name, value_type_cd, config_value, config_desc, sort_no, editable_yn, use_yn
+)
+VALUES
+  ('BATCH_RULE', 'advice.parallelism', '투자 조언 사전계산 동시 처리 수', 'NUMBER', '4', '야간 조언 배치에서 동시에 계산할 사용자 수 (DB 풀 여유분을 넘지 않게 제한)', 110, 1, 1),
+  ('BATCH_RULE', 'advice.snapshot_max_age_hours', '사전계산 조언 유효시간(시간)', 'NUMBER', '24', '보유종목·성향·기준정보가 같아도 이 시간이 지나면 조언을 다시 계산', 120, 1, 1)
+ON DUPLICATE KEY UPDATE
+  config_name = VALUES(config_name),
+  value_type_cd = VALUES(value_type_cd),
+  config_value = VALUES(config_value),
+  config_desc = VALUES(config_desc),
+  sort_no = VALUES(sort_no),
+  editable_yn = VALUES(editable_yn),
+  use_yn = VALUES(use_yn),
+  updated_at = CURRENT_TIMESTAMP;
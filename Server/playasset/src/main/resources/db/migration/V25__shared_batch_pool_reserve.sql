@@ -0,0 +1,5 @@
+UPDATE TM_STD_RUNTIME_CONFIG_MAIN
+SET config_name = '배치 커넥션 예약분',
+    config_desc = 'API 요청용으로 남겨둘 DB 커넥션 수 (시뮬레이션, 조언 사전계산, 캐시 선갱신 배치가 풀 크기에서 이 값을 뺀 커넥션을 함께 나눠 씀)'
+WHERE config_group_cd = 'BATCH_RULE'
+  AND config_key = 'simulation.pool_reserve';
@@ -0,0 +1,106 @@
+package com.assetinfo.playasset.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntToDoubleFunction;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class LttbDownsamplerTests {
+
+    @Test
+    void passesThroughWhenSpanFitsMaxPoints() {
+        List<Integer> input = List.of(0, 1, 2, 3, 4);
+
+        assertEquals(input, downsample(input, 0, 4, 5));
+    }
+
+    @Test
+    void keepsFirstMiddleAndLastForThreePoints() {
+        List<Integer> input = new ArrayList<>();
+        for (int x = 0; x < 10; x++) {
+            input.add(x);
+        }
+
+        List<Integer> output = downsample(input, 0, 9, 3, x -> x == 4 ? 100 : 0);
+
+        assertEquals(List.of(0, 4, 9), output);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 99, 3",
+            "0, 99, 7",
+            "0, 99, 10",
+            "0, 729, 50",
+            "0, 729, 400",
+            "10, 20, 4",
+    })
+    void keepsEndpointsAndStaysWithinMaxPoints(int startX, int endX, int maxPoints) {
+        List<Integer> input = new ArrayList<>();
+        for (int x = startX; x <= endX; x++) {
+            input.add(x);
+        }
+
+        List<Integer> output = downsample(input, startX, endX, maxPoints, x -> Math.sin(x / 7.0) * 100 + x);
+
+        assertEquals(startX, output.get(0));
+        assertEquals(endX, output.get(output.size() - 1));
+        assertTrue(output.size() <= maxPoints, "output size " + output.size() + " > " + maxPoints);
+        assertStrictlyIncreasing(output);
+    }
+
+    @Test
+    void handlesGapsInTheSeries() {
+        List<Integer> input = new ArrayList<>();
+        for (int x = 0; x <= 364; x++) {
+            if (x % 7 < 5 && (x < 100 || x > 200)) {
+                input.add(x);
+            }
+        }
+
+        List<Integer> output = downsample(input, 0, 364, 20, x -> x % 13);
+
+        assertEquals(input.get(0), output.get(0));
+        assertEquals(input.get(input.size() - 1), output.get(output.size() - 1));
+        assertTrue(output.size() <= 20, "output size " + output.size() + " > 20");
+        assertTrue(input.containsAll(output));
+        assertStrictlyIncreasing(output);
+    }
+
+    @Test
+    void emitsSinglePointAndNothingForEmptyInput() {
+        assertEquals(List.of(5), downsample(List.of(5), 0, 99, 3));
+        assertEquals(List.of(), downsample(List.of(), 0, 99, 3));
+    }
+
+    private static List<Integer> downsample(List<Integer> xs, int startX, int endX, int maxPoints) {
+        return downsample(xs, startX, endX, maxPoints, x -> x);
+    }
+
+    private static List<Integer> downsample(
+            List<Integer> xs,
+            int startX,
+            int endX,
+            int maxPoints,
+            IntToDoubleFunction y) {
+        List<Integer> output = new ArrayList<>();
+        LttbDownsampler<Integer> downsampler = new LttbDownsampler<>(startX, endX, maxPoints, output::add);
+        for (int x : xs) {
+            downsampler.accept(x, y.applyAsDouble(x), x);
+        }
+        downsampler.finish();
+        return output;
+    }
+
+    private static void assertStrictlyIncreasing(List<Integer> values) {
+        for (int i = 1; i < values.size(); i++) {
+            assertTrue(values.get(i - 1) < values.get(i), "not increasing at " + i + ": " + values);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.assetinfo.playasset.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class PortfolioStatsAccumulatorTests {
+
+    @ParameterizedTest
+    @CsvSource({
+            "2, 0.0",
+            "30, 0.0",
+            "730, 0.0",
+            "730, 1.0",
+    })
+    void welfordMatchesTwoPassSampleVariance(int size, double offset) {
+        double[] returns = new double[size];
+        SplittableRandom random = new SplittableRandom(size);
+        for (int i = 0; i < size; i++) {
+            returns[i] = offset + (random.nextDouble() - 0.48) * 0.03;
+        }
+        PortfolioStatsAccumulator stats = new PortfolioStatsAccumulator();
+        for (double periodReturn : returns) {
+            stats.acceptReturn(periodReturn);
+        }
+
+        double mean = 0;
+        for (double periodReturn : returns) {
+            mean += periodReturn;
+        }
+        mean /= size;
+        double sumSq = 0;
+        for (double periodReturn : returns) {
+            sumSq += (periodReturn - mean) * (periodReturn - mean);
+        }
+        double variance = sumSq / (size - 1);
+
+        assertEquals(size, stats.returnCount());
+        assertEquals(mean, stats.mean(), Math.abs(mean) * 1e-12 + 1e-15);
+        assertEquals(variance, stats.sampleVariance(), variance * 1e-9);
+    }
+
+    @Test
+    void varianceIsZeroBelowTwoReturns() {
+        PortfolioStatsAccumulator stats = new PortfolioStatsAccumulator();
+        assertEquals(0.0, stats.sampleVariance(), 0.0);
+        assertEquals(0.0, stats.mean(), 0.0);
+
+        stats.acceptReturn(0.05);
+
+        assertEquals(0.0, stats.sampleVariance(), 0.0);
+        assertEquals(0.05, stats.mean(), 0.0);
+    }
+
+    @Test
+    void acceptValueDerivesReturnsAndDrawdownFromPeak() {
+        PortfolioStatsAccumulator stats = accept(100, 110, 99, 121, 108.9);
+
+        assertEquals(4, stats.returnCount());
+        assertEquals(5, stats.valueCount());
+        assertEquals((0.1 - 0.1 + 0.2222222222222222 - 0.1) / 4, stats.mean(), 1e-12);
+        assertEquals(0.1, stats.maxDrawdown(), 1e-12);
+    }
+
+    @Test
+    void nonPositiveValuesAreSkippedForDrawdownAndAsReturnBase() {
+        PortfolioStatsAccumulator stats = accept(100, 0, -5, 80, 120, 90);
+
+        assertEquals(4, stats.valueCount());
+        assertEquals(3, stats.returnCount());
+        assertEquals((-1.0 + 0.5 - 0.25) / 3, stats.mean(), 1e-12);
+        assertEquals(0.25, stats.maxDrawdown(), 1e-12);
+    }
+
+    @Test
+    void onlyNonPositiveValuesLeaveNoDrawdownSamples() {
+        PortfolioStatsAccumulator stats = accept(0, -1, 0);
+
+        assertEquals(0, stats.valueCount());
+        assertEquals(0, stats.returnCount());
+        assertEquals(0.0, stats.maxDrawdown(), 0.0);
+    }
+
+    @Test
+    void resetClearsEveryStatistic() {
+        PortfolioStatsAccumulator stats = accept(100, 50, 75);
+
+        stats.reset();
+        stats.acceptValue(10);
+
+        assertEquals(1, stats.valueCount());
+        assertEquals(0, stats.returnCount());
+        assertEquals(0.0, stats.mean(), 0.0);
+        assertEquals(0.0, stats.maxDrawdown(), 0.0);
+    }
+
+    private static PortfolioStatsAccumulator accept(double... values) {
+        PortfolioStatsAccumulator stats = new PortfolioStatsAccumulator();
+        for (double value : values) {
+            stats.acceptValue(value);
+        }
+        return stats;
+    }
+}
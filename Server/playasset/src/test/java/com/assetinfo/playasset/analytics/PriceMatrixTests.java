@@ -0,0 +1,67 @@
+package com.assetinfo.playasset.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+class PriceMatrixTests {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 5);
+
+    @Test
+    void valueSeriesSumsOnlyAssetsWithACandleThatDay() {
+        PriceMatrix prices = PriceMatrix.builder(START, START.plusDays(3), 2)
+                .put(1, START, 10)
+                .put(2, START, 100)
+                .put(1, START.plusDays(1), 11)
+                .put(2, START.plusDays(2), 102)
+                .build();
+        HoldingVector holdings = new HoldingVector(new long[] {1, 2}, new double[] {2, 0.5}, "fp");
+
+        SimulationSeries series = prices.valueSeries(holdings, START, START.plusDays(3));
+
+        assertEquals(3, series.size());
+        assertEquals(START, series.date(0));
+        assertEquals(70.0, series.value(0), 1e-9);
+        assertEquals(START.plusDays(1), series.date(1));
+        assertEquals(22.0, series.value(1), 1e-9);
+        assertEquals(START.plusDays(2), series.date(2));
+        assertEquals(51.0, series.value(2), 1e-9);
+    }
+
+    @Test
+    void valueSeriesIgnoresHoldingsWithoutPrices() {
+        PriceMatrix prices = PriceMatrix.builder(START, START.plusDays(1), 1)
+                .put(1, START, 10)
+                .build();
+
+        SimulationSeries priced = prices.valueSeries(
+                new HoldingVector(new long[] {1, 9}, new double[] {3, 100}, "fp"), START, START.plusDays(1));
+        SimulationSeries unpriced = prices.valueSeries(
+                new HoldingVector(new long[] {9}, new double[] {100}, "fp"), START, START.plusDays(1));
+
+        assertEquals(1, priced.size());
+        assertEquals(30.0, priced.value(0), 1e-9);
+        assertTrue(unpriced.isEmpty());
+    }
+
+    @Test
+    void builderGrowsPastExpectedAssetsAndDropsOutOfRangeDays() {
+        PriceMatrix.Builder builder = PriceMatrix.builder(START, START.plusDays(9), 1);
+        for (long assetId = 1; assetId <= 100; assetId++) {
+            builder.put(assetId, START.plusDays(assetId % 10), assetId);
+        }
+        builder.put(1, START.minusDays(1), 999).put(1, START.plusDays(10), 999);
+
+        PriceMatrix prices = builder.build();
+
+        assertEquals(100, prices.assetCount());
+        assertEquals(42.0, prices.close(42, START.plusDays(2)), 0.0);
+        assertTrue(Double.isNaN(prices.close(42, START.plusDays(3))));
+        assertTrue(Double.isNaN(prices.close(1, START.minusDays(1))));
+        assertTrue(Double.isNaN(prices.close(404, START)));
+    }
+}
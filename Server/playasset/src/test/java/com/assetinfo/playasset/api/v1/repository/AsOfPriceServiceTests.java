@@ -0,0 +1,76 @@
+package com.assetinfo.playasset.api.v1.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.OptionalDouble;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.assetinfo.playasset.api.v1.repository.AsOfPriceService.PriceSeries;
+
+class AsOfPriceServiceTests {
+
+    private final PriceSeries series = series(100, 10.0, 101, 11.0, 104, 14.0);
+
+    @ParameterizedTest
+    @CsvSource({
+            "100, 10.0",
+            "101, 11.0",
+            "102, 11.0",
+            "103, 11.0",
+            "104, 14.0",
+            "105, 14.0",
+            "900, 14.0",
+    })
+    void closeOnOrBeforeReturnsLatestCloseNotAfterDay(int epochDay, double expected) {
+        assertEquals(expected, series.closeOnOrBefore(epochDay).getAsDouble(), 0.0);
+    }
+
+    @Test
+    void closeOnOrBeforeIsEmptyBeforeFirstCandle() {
+        assertTrue(series.closeOnOrBefore(99).isEmpty());
+        assertTrue(PriceSeries.EMPTY.closeOnOrBefore(100).isEmpty());
+    }
+
+    @Test
+    void withReplacesExistingDayWithoutTouchingOriginal() {
+        PriceSeries updated = series.with(101, 12.5);
+
+        assertEquals(12.5, updated.closeOnOrBefore(101).getAsDouble(), 0.0);
+        assertEquals(12.5, updated.closeOnOrBefore(103).getAsDouble(), 0.0);
+        assertEquals(11.0, series.closeOnOrBefore(101).getAsDouble(), 0.0);
+    }
+
+    @Test
+    void withInsertsIntoGapAndAtBothEnds() {
+        PriceSeries updated = series
+                .with(102, 12.0)
+                .with(99, 9.0)
+                .with(110, 20.0);
+
+        assertEquals(9.0, updated.closeOnOrBefore(99).getAsDouble(), 0.0);
+        assertEquals(11.0, updated.closeOnOrBefore(101).getAsDouble(), 0.0);
+        assertEquals(12.0, updated.closeOnOrBefore(103).getAsDouble(), 0.0);
+        assertEquals(14.0, updated.closeOnOrBefore(109).getAsDouble(), 0.0);
+        assertEquals(20.0, updated.closeOnOrBefore(110).getAsDouble(), 0.0);
+        assertTrue(series.closeOnOrBefore(99).isEmpty());
+    }
+
+    @Test
+    void withOnEmptySeriesCreatesSingleCandle() {
+        OptionalDouble close = PriceSeries.EMPTY.with(100, 5.0).closeOnOrBefore(150);
+
+        assertEquals(5.0, close.getAsDouble(), 0.0);
+    }
+
+    private static PriceSeries series(Object... dayAndClose) {
+        PriceSeries.Builder builder = new PriceSeries.Builder();
+        for (int i = 0; i < dayAndClose.length; i += 2) {
+            builder.add((Integer) dayAndClose[i], (Double) dayAndClose[i + 1]);
+        }
+        return builder.build(0);
+    }
+}
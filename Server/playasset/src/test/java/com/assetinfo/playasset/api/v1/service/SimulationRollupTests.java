@@ -0,0 +1,88 @@
+package com.assetinfo.playasset.api.v1.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.assetinfo.playasset.analytics.SimulationResolution;
+import com.assetinfo.playasset.api.v1.repository.PlatformQueryRepository.SimulationSnapshotRow;
+
+class SimulationRollupTests {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 5);
+
+    @ParameterizedTest
+    @CsvSource({
+            "30, 31, DAILY",
+            "30, 10, WEEKLY",
+            "180, 8, MONTHLY",
+            "180, 3, DOWNSAMPLED",
+            "730, 20, DOWNSAMPLED",
+    })
+    void outputNeverExceedsMaxPoints(int days, int maxPoints, SimulationResolution expected) {
+        LocalDate end = START.plusDays(days - 1);
+        List<SimulationSnapshotRow> rows = rows(days);
+
+        SimulationResolution resolution = SimulationResolution.forMaxPoints(START, end, maxPoints);
+        List<SimulationSnapshotRow> rolled = SimulationRollup.rollUp(rows, resolution, START, end, maxPoints);
+
+        assertEquals(expected, resolution);
+        assertTrue(rolled.size() <= maxPoints, "rolled " + rolled.size() + " > " + maxPoints);
+        assertEquals(rows.get(0), rolled.get(0));
+        assertEquals(rows.get(rows.size() - 1).snapshotDate(), rolled.get(rolled.size() - 1).snapshotDate());
+    }
+
+    @Test
+    void weeklyBucketsCarryEndpointReturnAndMaxDrawdown() {
+        List<SimulationSnapshotRow> rows = List.of(
+                row(START, 100, 0),
+                row(START.plusDays(1), 90, 10),
+                row(START.plusDays(2), 110, 0),
+                row(START.plusDays(7), 99, 10),
+                row(START.plusDays(8), 121, 0));
+
+        List<SimulationSnapshotRow> rolled = SimulationRollup.rollUp(
+                rows, SimulationResolution.WEEKLY, START, START.plusDays(8), 3);
+
+        assertEquals(3, rolled.size());
+        assertEquals(START.plusDays(2), rolled.get(1).snapshotDate());
+        assertEquals(new BigDecimal("10.0000"), rolled.get(1).dailyReturnPct());
+        assertEquals(new BigDecimal("10"), rolled.get(1).drawdownPct());
+        assertEquals(START.plusDays(8), rolled.get(2).snapshotDate());
+        assertEquals(new BigDecimal("10.0000"), rolled.get(2).dailyReturnPct());
+        assertEquals(new BigDecimal("10"), rolled.get(2).drawdownPct());
+    }
+
+    @Test
+    void dailyRowsPassThroughUntouched() {
+        List<SimulationSnapshotRow> rows = rows(5);
+
+        assertEquals(rows, SimulationRollup.rollUp(rows, SimulationResolution.DAILY, START, START.plusDays(4), null));
+    }
+
+    private static List<SimulationSnapshotRow> rows(int days) {
+        List<SimulationSnapshotRow> rows = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            rows.add(row(START.plusDays(i), 100 + Math.sin(i / 5.0) * 10 + i * 0.1, 0));
+        }
+        return rows;
+    }
+
+    private static SimulationSnapshotRow row(LocalDate date, double value, int drawdownPct) {
+        return new SimulationSnapshotRow(
+                date,
+                BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP),
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                BigDecimal.valueOf(drawdownPct));
+    }
+}
@@ -0,0 +1,47 @@
+package com.assetinfo.playasset.api.v1.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class ToneNormalizerTests {
+
+    private final ToneNormalizer normalizer = ToneNormalizer.withDefaults();
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "비중 조정이 필요합니다.|비중 조정이 필요해요.",
+            "현재 포트폴리오는 안정적입니다|현재 포트폴리오는 안정적이에요.",
+            "분산 투자를 권장합니다. 리스크를 주의합니다.|분산 투자를 권장해요. 리스크를 주의해요.",
+            "리밸런싱을 진행합니다!|리밸런싱을 진행해요!",
+            "현금 비중을 유지합니다?|현금 비중을 유지해요?",
+            "'  추가 매수는 분할로 진행됩니다.  '|추가 매수는 분할로 진행돼요.",
+            "변동성이 큽니다|변동성이 큽니요.",
+            "ETF 편입을 고려해 보세요|ETF 편입을 고려해 보세요.",
+            "분산 효과|분산 효과요.",
+            "수익률 12.5%|수익률 12.5%",
+    })
+    void matchesGoldenOutput(String input, String expected) {
+        assertEquals(expected, normalizer.normalize(input));
+    }
+
+    @Test
+    void blankInputStaysEmpty() {
+        assertEquals("", normalizer.normalize(null));
+        assertEquals("", normalizer.normalize("   "));
+    }
+
+    @Test
+    void operatorRulesExtendDefaults() {
+        ToneNormalizer configured = ToneNormalizer.fromConfig(Map.of(
+                "tone.replace.01", "큽니다=>커요",
+                "advice.empty.headline", "무시돼요"));
+
+        assertEquals("변동성이 커요.", configured.normalize("변동성이 큽니다"));
+        assertEquals("비중 조정이 필요해요.", configured.normalize("비중 조정이 필요합니다."));
+    }
+}
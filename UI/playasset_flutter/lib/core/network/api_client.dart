@@ -148,6 +148,7 @@ class PlayAssetApiClient {
     int userId, {
     String? startDate,
     String? endDate,
+    int? maxPoints,
   }) async {
     final query = <String, dynamic>{};
     if (startDate != null && startDate.isNotEmpty) {
@@ -156,6 +157,9 @@ class PlayAssetApiClient {
     if (endDate != null && endDate.isNotEmpty) {
       query['endDate'] = endDate;
     }
+    if (maxPoints != null) {
+      query['maxPoints'] = maxPoints;
+    }
 
     final response = await _dio.get<Map<String, dynamic>>(
       '/v1/users/$userId/portfolio/simulation',
@@ -305,6 +305,7 @@ final portfolioSimulationProvider =
     userId,
     startDate: query.startDateText,
     endDate: query.endDateText,
+    maxPoints: 400,
   );
 });
 